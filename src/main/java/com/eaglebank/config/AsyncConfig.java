@@ -0,0 +1,16 @@
+package com.eaglebank.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Async} and {@code @Scheduled}. Both use the auto-configured executor and
+ * scheduler, which run on virtual threads when {@code spring.threads.virtual.enabled} is set.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+}
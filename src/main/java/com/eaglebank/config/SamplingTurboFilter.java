@@ -0,0 +1,68 @@
+package com.eaglebank.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Marker;
+
+/**
+ * Lets through only a fraction of the events at or below a level for one logger hierarchy, such as
+ * {@code org.hibernate.SQL}. Configured from {@code logback-spring.xml}.
+ *
+ * <p>The filter runs inside the logging call, after the caller has already built the statement
+ * text and its arguments, so that work is paid for every statement. What a dropped event skips is
+ * everything after the decision: creating the logging event, substituting its parameters, taking
+ * a slot in the async queue, and JSON encoding and writing on the appender thread. Level checks
+ * such as {@code isDebugEnabled()} are always let through, since the filter cannot tell which of
+ * them will lead to an event.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String loggerName;
+    private Level level = Level.DEBUG;
+    private double rate = 1.0;
+
+    @Override
+    public FilterReply decide(final Marker marker, final Logger logger, final Level eventLevel,
+            final String format, final Object[] params, final Throwable t) {
+        // A null format is an isXxxEnabled() check; sample only the actual event, not both
+        if (!isStarted() || format == null || !level.isGreaterOrEqual(eventLevel)
+                || !inScope(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current()
+                .nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (loggerName == null || loggerName.isBlank()) {
+            addError("No loggerName set for sampling filter " + getName());
+            return;
+        }
+        if (rate < 0 || rate > 1) {
+            addError("Sampling rate must be between 0 and 1, was " + rate);
+            return;
+        }
+        super.start();
+    }
+
+    private boolean inScope(final String name) {
+        return name.startsWith(loggerName) && (name.length() == loggerName.length()
+                || name.charAt(loggerName.length()) == '.');
+    }
+
+    public void setLoggerName(final String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setLevel(final String level) {
+        this.level = Level.toLevel(level, Level.DEBUG);
+    }
+
+    public void setRate(final double rate) {
+        this.rate = rate;
+    }
+}
@@ -3,9 +3,13 @@ package com.eaglebank.config;
 import com.eaglebank.repository.UserRepository;
 import com.eaglebank.security.JwtAuthFilter;
 import com.eaglebank.security.JwtUtil;
+import com.eaglebank.security.PrincipalCache;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Map;
 import javax.crypto.spec.SecretKeySpec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,7 +20,9 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -28,6 +34,16 @@ public class SecurityConfig {
     private final UserRepository userRepository;
     @Value("${jwt.secret}")
     private String jwtSecret;
+    @Value("${eaglebank.security.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+    @Value("${eaglebank.security.password-encoder:bcrypt}")
+    private String passwordEncoderId;
+    @Value("${eaglebank.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+    @Value("${eaglebank.security.argon2.memory-kib:16384}")
+    private int argon2MemoryKib;
+    @Value("${eaglebank.security.argon2.iterations:2}")
+    private int argon2Iterations;
 
     public SecurityConfig(UserRepository userRepository) {
         this.userRepository = userRepository;
@@ -41,6 +57,8 @@ public class SecurityConfig {
                 .sessionManagement(
                         sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                        .permitAll()
                         .requestMatchers(HttpMethod.POST, "/v1/users")
                         .permitAll()
                         .requestMatchers("/v1/auth/**")
@@ -62,9 +80,22 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * Hashes with the configured algorithm and cost, and still verifies hashes made with any other
+     * registered one. Stored hashes that are not in the current format are upgraded on login.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        final PasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        final Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKib, argon2Iterations));
+
+        final DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                passwordEncoderId, encoders);
+        // Hashes stored before ids were prefixed are plain BCrypt
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 
     @Bean
@@ -73,15 +104,15 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtUtil jwtUtil() {
+    public JwtUtil jwtUtil(MeterRegistry meterRegistry) {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         Key key = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
-        return new JwtUtil(key);
+        return new JwtUtil(key, tokenCacheMaxSize, meterRegistry);
     }
 
     @Bean
-    public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil) {
-        return new JwtAuthFilter(jwtUtil, userRepository);
+    public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil, PrincipalCache principalCache) {
+        return new JwtAuthFilter(jwtUtil, userRepository, principalCache);
     }
 }
 
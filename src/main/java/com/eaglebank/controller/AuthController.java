@@ -3,13 +3,15 @@ package com.eaglebank.controller;
 import com.eaglebank.dto.AuthRequestDto;
 import com.eaglebank.dto.AuthResponseDto;
 import com.eaglebank.exception.InvalidCredentialsException;
+import com.eaglebank.model.User;
 import com.eaglebank.repository.UserRepository;
 import com.eaglebank.security.JwtUtil;
+import com.eaglebank.security.PasswordHashingService;
+import com.eaglebank.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,18 +23,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final UserService userService;
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody final AuthRequestDto credentials) {
-        final var user = userRepository.findByEmail(credentials.email())
+        final var user = userRepository.findByEmail(User.normaliseEmail(credentials.email()))
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        if (!passwordEncoder.matches(credentials.password(), user.getPassword())) {
+        if (!passwordHashingService.matches(credentials.password(), user.getPassword())) {
             throw new InvalidCredentialsException("Invalid password");
         }
 
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            userService.upgradePasswordHash(user.getId(), credentials.password(),
+                    user.getPassword());
+        }
+
         return ResponseEntity.ok(new AuthResponseDto(jwtUtil.generateToken(user)));
     }
 }
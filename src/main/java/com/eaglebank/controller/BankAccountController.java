@@ -1,14 +1,18 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.dto.BalanceResponseDto;
 import com.eaglebank.dto.BankAccountResponseDto;
 import com.eaglebank.dto.CreateBankAccountRequestDto;
 import com.eaglebank.dto.UpdateBankAccountRequestDto;
 import com.eaglebank.security.AuthenticatedUser;
+import com.eaglebank.service.BalanceCheckpointService;
 import com.eaglebank.service.BankAccountService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import java.time.OffsetDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -27,6 +32,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class BankAccountController {
 
     private final BankAccountService bankAccountService;
+    private final BalanceCheckpointService balanceCheckpointService;
 
     @PostMapping
     public ResponseEntity<BankAccountResponseDto> createBankAccount(@Valid @RequestBody final CreateBankAccountRequestDto bankAccountRequestDto,
@@ -51,6 +57,17 @@ public class BankAccountController {
                 bankAccountService.getBankAccount(accountNumber, authUser.getId()));
     }
 
+    @GetMapping(path = "/{accountNumber}/balance")
+    public ResponseEntity<BalanceResponseDto> getBalance(
+            @Pattern(regexp = "^01\\d{6}$", message = "Invalid account number format")
+            @PathVariable final String accountNumber,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final OffsetDateTime asOf,
+            @AuthenticationPrincipal final AuthenticatedUser authUser) {
+        return ResponseEntity.ok(
+                balanceCheckpointService.getBalance(accountNumber, authUser.getId(), asOf));
+    }
+
     @PatchMapping(path = "/{accountNumber}")
     public ResponseEntity<BankAccountResponseDto> updateBankAccount(
             @Pattern(regexp = "^01\\d{6}$", message = "Invalid account number format")
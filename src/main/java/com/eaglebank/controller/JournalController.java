@@ -0,0 +1,33 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.dto.CreateJournalEntryRequestDto;
+import com.eaglebank.dto.JournalEntryResponseDto;
+import com.eaglebank.security.AuthenticatedUser;
+import com.eaglebank.service.JournalService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/journal-entries")
+@RequiredArgsConstructor
+public class JournalController {
+
+    private final JournalService journalService;
+
+    @PostMapping
+    public ResponseEntity<JournalEntryResponseDto> createJournalEntry(
+            @Valid @RequestBody CreateJournalEntryRequestDto requestDto,
+
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(journalService.createJournalEntry(user.getId(), requestDto));
+    }
+}
@@ -1,30 +1,49 @@
 package com.eaglebank.controller;
 
 
+import com.eaglebank.dto.CreateTransactionBatchRequestDto;
 import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.CreateTransferRequestDto;
+import com.eaglebank.dto.TransactionBatchResponseDto;
+import com.eaglebank.dto.TransactionPageResponseDto;
 import com.eaglebank.dto.TransactionResponseDto;
+import com.eaglebank.dto.TransferResponseDto;
 import com.eaglebank.security.AuthenticatedUser;
 import com.eaglebank.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
-import java.util.List;
+import jakarta.validation.constraints.Size;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/accounts")
 @RequiredArgsConstructor
 public class TransactionController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/{accountNumber}/transactions")
     public ResponseEntity<TransactionResponseDto> createTransaction(
@@ -33,27 +52,88 @@ public class TransactionController {
 
             @Valid @RequestBody CreateTransactionRequestDto requestDto,
 
+            @Size(min = 1, max = 255)
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+
             @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(transactionService.createTransaction(
-                        accountNumber, user.getId(), requestDto
+                        accountNumber, user.getId(), requestDto, idempotencyKey
                 ));
     }
 
+    @PostMapping("/{accountNumber}/transactions:batch")
+    public ResponseEntity<TransactionBatchResponseDto> createTransactions(
+            @Pattern(regexp = "^01\\d{6}$")
+            @PathVariable String accountNumber,
+
+            @Valid @RequestBody CreateTransactionBatchRequestDto requestDto,
+
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.ok(transactionService.createTransactions(
+                accountNumber, user.getId(), requestDto.transactions()
+        ));
+    }
+
+    @PostMapping("/{accountNumber}/transfers")
+    public ResponseEntity<TransferResponseDto> createTransfer(
+            @Pattern(regexp = "^01\\d{6}$")
+            @PathVariable String accountNumber,
+
+            @Valid @RequestBody CreateTransferRequestDto requestDto,
+
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(transactionService.transfer(accountNumber, user.getId(), requestDto));
+    }
+
     @GetMapping("/{accountNumber}/transactions")
-    public ResponseEntity<List<TransactionResponseDto>> getTransactions(
+    public ResponseEntity<TransactionPageResponseDto> getTransactions(
             @PathVariable
             @Pattern(regexp = "^01\\d{6}$", message = "Invalid account number format")
             String accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @AuthenticationPrincipal AuthenticatedUser authUser) {
 
-        List<TransactionResponseDto> response =
-                transactionService.getTransactions(accountNumber, authUser.getId());
+        TransactionPageResponseDto response =
+                transactionService.getTransactions(accountNumber, authUser.getId(), cursor, limit);
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(path = "/{accountNumber}/transactions:export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable
+            @Pattern(regexp = "^01\\d{6}$", message = "Invalid account number format")
+            String accountNumber,
+            @AuthenticationPrincipal AuthenticatedUser authUser) {
+
+        transactionService.verifyAccountOwner(accountNumber, authUser.getId());
+
+        final ObjectWriter writer = objectMapper.writerFor(TransactionResponseDto.class);
+        final StreamingResponseBody body = outputStream -> {
+            final OutputStream out = new BufferedOutputStream(outputStream);
+
+            transactionService.streamTransactions(accountNumber, transaction -> {
+                try {
+                    out.write(writer.writeValueAsBytes(transaction));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{accountNumber}/transactions/{transactionId}")
     public ResponseEntity<TransactionResponseDto> getTransaction(
             @PathVariable @Pattern(regexp = "^01\\d{6}$") String accountNumber,
@@ -0,0 +1,13 @@
+package com.eaglebank.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public record BalanceResponseDto(
+        String accountNumber,
+        BigDecimal balance,
+        String currency,
+        OffsetDateTime asOf
+) {
+
+}
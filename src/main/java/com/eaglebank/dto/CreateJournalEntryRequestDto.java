@@ -0,0 +1,19 @@
+package com.eaglebank.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CreateJournalEntryRequestDto(
+        @NotNull
+        String currency,
+
+        String reference,
+
+        @NotNull
+        @Size(min = 2)
+        List<@Valid @NotNull JournalLegDto> legs
+) {
+
+}
@@ -0,0 +1,15 @@
+package com.eaglebank.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CreateTransactionBatchRequestDto(
+        @NotEmpty
+        @Size(max = 1000)
+        List<@Valid @NotNull CreateTransactionRequestDto> transactions
+) {
+
+}
@@ -0,0 +1,23 @@
+package com.eaglebank.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.math.BigDecimal;
+
+public record CreateTransferRequestDto(
+        @NotNull
+        @Pattern(regexp = "^01\\d{6}$", message = "Invalid account number format")
+        String toAccountNumber,
+
+        @NotNull @DecimalMin(value = "0.01") @DecimalMax(value = "10000.00")
+        BigDecimal amount,
+
+        @NotNull
+        String currency,
+
+        String reference
+) {
+
+}
@@ -0,0 +1,14 @@
+package com.eaglebank.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public record JournalEntryResponseDto(
+        int legs,
+        BigDecimal amount,
+        String currency,
+        String reference,
+        OffsetDateTime createdTimestamp
+) {
+
+}
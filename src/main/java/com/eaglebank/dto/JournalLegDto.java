@@ -0,0 +1,27 @@
+package com.eaglebank.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.math.BigDecimal;
+
+/**
+ * One line of a journal entry. Negative amounts debit the account, positive amounts credit it.
+ * Each leg is capped at the same amount as a single transaction or transfer.
+ */
+public record JournalLegDto(
+        @NotNull
+        @Pattern(regexp = "^01\\d{6}$")
+        String accountNumber,
+
+        @NotNull
+        @DecimalMin(value = "-10000.00") @DecimalMax(value = "10000.00")
+        @Digits(integer = 36, fraction = 2)
+        BigDecimal amount,
+
+        String reference
+) {
+
+}
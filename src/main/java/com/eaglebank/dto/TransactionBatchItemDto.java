@@ -0,0 +1,10 @@
+package com.eaglebank.dto;
+
+public record TransactionBatchItemDto(
+        int index,
+        TransactionBatchItemStatus status,
+        TransactionResponseDto transaction,
+        String error
+) {
+
+}
@@ -0,0 +1,12 @@
+package com.eaglebank.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum TransactionBatchItemStatus {
+    CREATED, REJECTED;
+
+    @JsonValue
+    public String toLowerCase() {
+        return name().toLowerCase();
+    }
+}
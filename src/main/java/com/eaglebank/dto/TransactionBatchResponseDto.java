@@ -0,0 +1,11 @@
+package com.eaglebank.dto;
+
+import java.util.List;
+
+public record TransactionBatchResponseDto(
+        int created,
+        int rejected,
+        List<TransactionBatchItemDto> results
+) {
+
+}
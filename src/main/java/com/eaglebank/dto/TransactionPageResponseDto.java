@@ -0,0 +1,10 @@
+package com.eaglebank.dto;
+
+import java.util.List;
+
+public record TransactionPageResponseDto(
+        List<TransactionResponseDto> transactions,
+        String nextCursor
+) {
+
+}
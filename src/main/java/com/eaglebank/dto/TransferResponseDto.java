@@ -0,0 +1,10 @@
+package com.eaglebank.dto;
+
+public record TransferResponseDto(
+        String fromAccountNumber,
+        String toAccountNumber,
+        TransactionResponseDto debit,
+        TransactionResponseDto credit
+) {
+
+}
@@ -0,0 +1,27 @@
+package com.eaglebank.model;
+
+import com.eaglebank.dto.AccountType;
+
+/**
+ * The parts of a bank account that change only through the account endpoints, never through
+ * postings. Safe to cache; the balance is deliberately not part of it.
+ */
+public record AccountMetadata(
+        String accountNumber,
+        String ownerId,
+        String currency,
+        String sortCode,
+        AccountType accountType,
+        String name
+) {
+
+    public static AccountMetadata of(final BankAccount account) {
+        return new AccountMetadata(account.getAccountNumber(), account.getUser()
+                .getId(), account.getCurrency(), account.getSortCode(),
+                account.getAccountType(), account.getName());
+    }
+
+    public boolean isOwnedBy(final String userId) {
+        return ownerId.equals(userId);
+    }
+}
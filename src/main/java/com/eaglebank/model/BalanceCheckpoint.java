@@ -0,0 +1,49 @@
+package com.eaglebank.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * An account's balance including every ledger line created up to and including
+ * {@code checkpointTimestamp}. Written in bulk by
+ * {@link com.eaglebank.service.BalanceCheckpointService}; only re-summed, in bulk, when a ledger line
+ * turns out to have committed after the checkpoint it belongs to.
+ */
+@Entity
+@Immutable
+@Table(name = "balance_checkpoints")
+@IdClass(BalanceCheckpoint.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceCheckpoint {
+
+    @Id
+    private String accountNumber;
+
+    @Id
+    private OffsetDateTime checkpointTimestamp;
+
+    private BigDecimal balance;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private String accountNumber;
+
+        private OffsetDateTime checkpointTimestamp;
+    }
+}
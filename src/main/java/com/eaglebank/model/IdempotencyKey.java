@@ -0,0 +1,92 @@
+package com.eaglebank.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Records which transaction a client's {@code Idempotency-Key} produced. The row is written in the
+ * same database transaction as the posting, so a key is either stored with its transaction or not
+ * at all.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_created", columnList = "createdTimestamp"))
+@IdClass(IdempotencyKey.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyKey implements Persistable<IdempotencyKey.Key> {
+
+    @Id
+    private String userId;
+
+    @Id
+    private String idempotencyKey;
+
+    private String accountNumber;
+
+    private String transactionId;
+
+    private OffsetDateTime createdTimestamp;
+
+    /**
+     * Always inserted, never merged: a duplicate key must fail on the primary key rather than
+     * overwrite the stored transaction.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public IdempotencyKey(final String userId, final String idempotencyKey,
+            final String accountNumber, final String transactionId,
+            final OffsetDateTime createdTimestamp) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.accountNumber = accountNumber;
+        this.transactionId = transactionId;
+        this.createdTimestamp = createdTimestamp;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(userId, idempotencyKey);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private String userId;
+
+        private String idempotencyKey;
+    }
+}
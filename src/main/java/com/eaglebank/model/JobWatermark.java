@@ -0,0 +1,28 @@
+package com.eaglebank.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * How far a periodic job has processed, so each run carries on from the previous one. The row is
+ * locked for the length of a run, which also keeps two instances from running the job at once.
+ */
+@Entity
+@Table(name = "job_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobWatermark {
+
+    @Id
+    private String name;
+
+    private OffsetDateTime watermark;
+}
@@ -0,0 +1,81 @@
+package com.eaglebank.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One signed line of a {@link LedgerJournal}: positive amounts credit the account, negative amounts
+ * debit it. Lines for customer accounts share the id of the {@link Transaction} they record; the
+ * balancing line on an external account uses the journal id.
+ */
+@Entity
+@Immutable
+@Table(name = "ledger_entries",
+        indexes = {
+                @Index(name = "idx_ledger_entries_account_created",
+                        columnList = "accountNumber, createdTimestamp, amount"),
+                @Index(name = "idx_ledger_entries_created", columnList = "createdTimestamp"),
+                @Index(name = "idx_ledger_entries_journal", columnList = "journal_id")
+        })
+@Getter
+@NoArgsConstructor
+public class LedgerEntry implements Persistable<String> {
+
+    @Id
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "journal_id", nullable = false)
+    private LedgerJournal journal;
+
+    private String accountNumber;
+
+    private BigDecimal amount;
+
+    private String currency;
+
+    private OffsetDateTime createdTimestamp;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public LedgerEntry(final String id, final LedgerJournal journal, final String accountNumber,
+            final BigDecimal amount, final String currency,
+            final OffsetDateTime createdTimestamp) {
+        this.id = id;
+        this.journal = journal;
+        this.accountNumber = accountNumber;
+        this.amount = amount;
+        this.currency = currency;
+        this.createdTimestamp = createdTimestamp;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
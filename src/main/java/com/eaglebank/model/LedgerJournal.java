@@ -0,0 +1,56 @@
+package com.eaglebank.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.OffsetDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Header of one balanced set of {@link LedgerEntry} lines. Journals are only ever inserted.
+ */
+@Entity
+@Immutable
+@Table(name = "ledger_journals")
+@Getter
+@NoArgsConstructor
+public class LedgerJournal implements Persistable<String> {
+
+    @Id
+    private String id;
+
+    private String reference;
+
+    private OffsetDateTime createdTimestamp;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public LedgerJournal(final String id, final String reference,
+            final OffsetDateTime createdTimestamp) {
+        this.id = id;
+        this.reference = reference;
+        this.createdTimestamp = createdTimestamp;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
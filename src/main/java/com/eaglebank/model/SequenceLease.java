@@ -0,0 +1,29 @@
+package com.eaglebank.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A named counter advanced under a row lock, from which instances lease ranges or single values.
+ * The {@code account-number} row is the high-water mark of the account number blocks handed out
+ * so far; each instance leases a block by advancing {@code nextIndex} and dispenses it from memory.
+ * The {@code node-id} row counts instance start-ups and hands each one its id-generator node id.
+ */
+@Entity
+@Table(name = "sequence_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceLease {
+
+    @Id
+    private String name;
+
+    private long nextIndex;
+}
@@ -6,21 +6,29 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+        indexes = @Index(name = "idx_transactions_account_created_id",
+                columnList = "account_number, createdTimestamp, id"))
 @Getter
 @Setter
 @NoArgsConstructor
-public class Transaction {
+public class Transaction implements Persistable<String> {
 
     @Id
     private String id;
@@ -42,6 +50,15 @@ public class Transaction {
     @JoinColumn(name = "account_number", referencedColumnName = "accountNumber", nullable = false)
     private BankAccount bankAccount;
 
+    /**
+     * Ids are assigned by the service, so without this flag Spring Data would merge new rows and
+     * issue a SELECT before every INSERT.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
     public Transaction(final BigDecimal amount, final String currency, final TransactionType type,
             final String reference, final OffsetDateTime createdTimestamp) {
         this.amount = amount;
@@ -50,5 +67,15 @@ public class Transaction {
         this.reference = reference;
         this.createdTimestamp = createdTimestamp;
     }
-}
 
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -5,19 +5,24 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.OffsetDateTime;
+import java.util.Locale;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.GenericGenerator;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 @Getter
 @Setter
 @NoArgsConstructor
 public class User {
 
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(generator = "user-id-generator")
     @GenericGenerator(name = "user-id-generator", strategy = "com.eaglebank.model.UserIdGenerator")
@@ -25,6 +30,10 @@ public class User {
 
     private String name;
 
+    /**
+     * Always stored lower-cased, see {@link #normaliseEmail(String)}; the unique constraint also
+     * serves as the lookup index for logins.
+     */
     private String email;
 
     private String password;
@@ -40,9 +49,22 @@ public class User {
 
     public User(String name, String email, String password, String phoneNumber, Address address) {
         this.name = name;
-        this.email = email;
+        this.email = normaliseEmail(email);
         this.password = password;
         this.phoneNumber = phoneNumber;
         this.address = address;
     }
+
+    public void setEmail(final String email) {
+        this.email = normaliseEmail(email);
+    }
+
+    /**
+     * Canonical form used for storage and lookups, so addresses differing only in case or
+     * surrounding whitespace are the same user.
+     */
+    public static String normaliseEmail(final String email) {
+        return email == null ? null : email.trim()
+                .toLowerCase(Locale.ROOT);
+    }
 }
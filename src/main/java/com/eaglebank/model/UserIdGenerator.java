@@ -1,18 +1,60 @@
 package com.eaglebank.model;
 
+import com.eaglebank.utils.Base62;
 import java.io.Serializable;
-import java.util.UUID;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.IdentifierGenerator;
 
+/**
+ * Generates user ids of the form {@code usr-} plus 12 base62 characters: 7 for milliseconds since
+ * 2025-01-01, then 5 holding a random per-instance node number (19 bits) and a sequence (10 bits).
+ * New ids sort after older ones, so inserts append to the right-hand edge of the primary key index
+ * instead of landing on random pages. Ids from one instance are strictly increasing; when a
+ * millisecond's sequence runs out the generator runs ahead of the clock.
+ */
 public class UserIdGenerator implements IdentifierGenerator {
 
+    static final long EPOCH_MILLIS = 1_735_689_600_000L;
+    static final int NODE_BITS = 19;
+
+    private static final String PREFIX = "usr-";
+    private static final int TIME_LENGTH = 7;
+    private static final int TAIL_LENGTH = 5;
+    private static final int SEQUENCE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Milliseconds since the epoch, shifted left by SEQUENCE_BITS, plus the sequence
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public UserIdGenerator() {
+        this(new SecureRandom().nextInt(1 << NODE_BITS), System::currentTimeMillis);
+    }
+
+    UserIdGenerator(final int node, final LongSupplier clock) {
+        this.nodeBits = (long) node << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
     @Override
     public Serializable generate(SharedSessionContractImplementor session, Object object) {
-        final String randomAlphanumeric = UUID.randomUUID()
-                .toString()
-                .replaceAll("-", "")
-                .substring(0, 12);
-        return "usr-" + randomAlphanumeric;
+        return nextId();
+    }
+
+    String nextId() {
+        final long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        final long tick = lastTick.accumulateAndGet(now, (last, current) -> Math.max(last + 1,
+                current));
+        final char[] chars = new char[PREFIX.length() + TIME_LENGTH + TAIL_LENGTH];
+
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        Base62.encode(tick >>> SEQUENCE_BITS, chars, PREFIX.length(), TIME_LENGTH);
+        Base62.encode(nodeBits | tick & SEQUENCE_MASK, chars, PREFIX.length() + TIME_LENGTH,
+                TAIL_LENGTH);
+        return new String(chars);
     }
 }
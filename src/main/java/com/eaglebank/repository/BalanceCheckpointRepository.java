@@ -0,0 +1,77 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.BalanceCheckpoint;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BalanceCheckpointRepository
+        extends JpaRepository<BalanceCheckpoint, BalanceCheckpoint.Key> {
+
+    Optional<BalanceCheckpoint> findFirstByAccountNumberAndCheckpointTimestampLessThanEqualOrderByCheckpointTimestampDesc(
+            String accountNumber, OffsetDateTime asOf);
+
+    /**
+     * Writes a checkpoint at {@code cutoff} for every account with ledger lines in
+     * {@code (previous, cutoff]}: its latest checkpoint plus the net of those lines. Accounts without
+     * lines in the window keep their older checkpoint, which is still exact up to {@code cutoff}.
+     */
+    @Modifying
+    @Query(value = """
+            insert into balance_checkpoints (account_number, checkpoint_timestamp, balance)
+            select e.account_number, :cutoff,
+                   coalesce((select c.balance
+                               from balance_checkpoints c
+                              where c.account_number = e.account_number
+                              order by c.checkpoint_timestamp desc
+                              fetch first 1 rows only), 0) + sum(e.amount)
+              from ledger_entries e
+             where e.created_timestamp > :previous
+               and e.created_timestamp <= :cutoff
+             group by e.account_number
+            """, nativeQuery = true)
+    int insertCheckpoints(@Param("previous") OffsetDateTime previous,
+            @Param("cutoff") OffsetDateTime cutoff);
+
+    /**
+     * Of the accounts with ledger lines stamped after {@code since}, those whose latest checkpoint
+     * plus the lines after it differs from the stored balance. The stored balance changes in the
+     * same transaction as the account's lines, so a difference means a line stamped before the
+     * checkpoint committed after it was written.
+     */
+    @Query(value = """
+            select c.account_number
+              from balance_checkpoints c
+              join bank_accounts a on a.account_number = c.account_number
+             where c.account_number in (select r.account_number
+                                          from ledger_entries r
+                                         where r.created_timestamp > :since)
+               and c.checkpoint_timestamp = (select max(l.checkpoint_timestamp)
+                                               from balance_checkpoints l
+                                              where l.account_number = c.account_number)
+               and a.balance <> c.balance + coalesce((select sum(e.amount)
+                                                        from ledger_entries e
+                                                       where e.account_number = c.account_number
+                                                         and e.created_timestamp
+                                                             > c.checkpoint_timestamp), 0)
+            """, nativeQuery = true)
+    List<String> findStaleAccountNumbersChangedSince(@Param("since") OffsetDateTime since);
+
+    /**
+     * Re-sums every checkpoint of the account from the ledger.
+     */
+    @Modifying
+    @Query(value = """
+            update balance_checkpoints c
+               set balance = (select coalesce(sum(e.amount), 0)
+                                from ledger_entries e
+                               where e.account_number = c.account_number
+                                 and e.created_timestamp <= c.checkpoint_timestamp)
+             where c.account_number = :accountNumber
+            """, nativeQuery = true)
+    int rebuildCheckpoints(@Param("accountNumber") String accountNumber);
+}
@@ -1,12 +1,63 @@
 package com.eaglebank.repository;
 
 import com.eaglebank.model.BankAccount;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface BankAccountRepository extends JpaRepository<BankAccount, String> {
 
-    boolean existsByAccountNumberAndSortCode(String accountNumber, String sortCode);
-
     List<BankAccount> findAllByUser_Id(String userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<BankAccount> findLockedByAccountNumber(String accountNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from BankAccount a where a.accountNumber in :accountNumbers"
+            + " order by a.accountNumber")
+    List<BankAccount> findAllLockedByAccountNumberIn(
+            @Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Modifying
+    @Query("""
+            update BankAccount a
+               set a.balance = a.balance + :delta,
+                   a.version = a.version + 1,
+                   a.updatedTimestamp = :updatedTimestamp
+             where a.accountNumber = :accountNumber
+               and a.version = :version
+            """)
+    int applyBalanceDeltaIfVersionMatches(@Param("accountNumber") String accountNumber,
+            @Param("delta") BigDecimal delta,
+            @Param("version") Long version,
+            @Param("updatedTimestamp") OffsetDateTime updatedTimestamp);
+
+    /**
+     * Applies a signed delta in a single statement, guarded by owner, currency and available funds.
+     * Returns the number of rows updated: 1 when applied, 0 when no row satisfied the guard.
+     */
+    @Modifying
+    @Query("""
+            update BankAccount a
+               set a.balance = a.balance + :delta,
+                   a.version = a.version + 1,
+                   a.updatedTimestamp = :updatedTimestamp
+             where a.accountNumber = :accountNumber
+               and a.user.id = :userId
+               and a.currency = :currency
+               and a.balance + :delta >= 0
+            """)
+    int applyBalanceDelta(@Param("accountNumber") String accountNumber,
+            @Param("userId") String userId,
+            @Param("currency") String currency,
+            @Param("delta") BigDecimal delta,
+            @Param("updatedTimestamp") OffsetDateTime updatedTimestamp);
 }
@@ -0,0 +1,18 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.IdempotencyKey;
+import java.time.OffsetDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IdempotencyKeyRepository
+        extends JpaRepository<IdempotencyKey, IdempotencyKey.Key> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyKey k where k.createdTimestamp < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
@@ -0,0 +1,13 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.JobWatermark;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<JobWatermark> findLockedByName(String name);
+}
@@ -0,0 +1,45 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.LedgerEntry;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, String> {
+
+    @Query("select coalesce(sum(e.amount), 0) from LedgerEntry e"
+            + " where e.accountNumber = :accountNumber")
+    BigDecimal sumByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Net of the account's lines created after {@code after} and up to and including {@code upTo}.
+     */
+    @Query("""
+            select coalesce(sum(e.amount), 0) from LedgerEntry e
+             where e.accountNumber = :accountNumber
+               and e.createdTimestamp > :after
+               and e.createdTimestamp <= :upTo
+            """)
+    BigDecimal sumByAccountNumberBetween(@Param("accountNumber") String accountNumber,
+            @Param("after") OffsetDateTime after,
+            @Param("upTo") OffsetDateTime upTo);
+
+    /**
+     * Account numbers in {@code [from, to)} whose stored balance differs from the sum of their
+     * ledger entries.
+     */
+    @Query(value = """
+            select a.account_number
+              from bank_accounts a
+              left join ledger_entries e on e.account_number = a.account_number
+             where a.account_number >= :from
+               and a.account_number < :to
+             group by a.account_number, a.balance
+            having a.balance <> coalesce(sum(e.amount), 0)
+            """, nativeQuery = true)
+    List<String> findMismatchedAccountNumbers(@Param("from") String from,
+            @Param("to") String to);
+}
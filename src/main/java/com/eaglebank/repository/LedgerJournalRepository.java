@@ -0,0 +1,17 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.LedgerJournal;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface LedgerJournalRepository extends JpaRepository<LedgerJournal, String> {
+
+    @Query(value = """
+            select journal_id
+              from ledger_entries
+             group by journal_id
+            having sum(amount) <> 0
+            """, nativeQuery = true)
+    List<String> findUnbalancedJournalIds();
+}
@@ -0,0 +1,13 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.SequenceLease;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+public interface SequenceLeaseRepository extends JpaRepository<SequenceLease, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<SequenceLease> findLockedByName(String name);
+}
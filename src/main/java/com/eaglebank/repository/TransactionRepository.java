@@ -1,10 +1,55 @@
 package com.eaglebank.repository;
 
+import com.eaglebank.dto.TransactionResponseDto;
 import com.eaglebank.model.Transaction;
+import jakarta.persistence.QueryHint;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
 
-    List<Transaction> findAllByBankAccount_AccountNumber(String accountNumber);
+    @Query("""
+            select t from Transaction t
+             where t.bankAccount.accountNumber = :accountNumber
+             order by t.createdTimestamp, t.id
+            """)
+    List<Transaction> findFirstPage(@Param("accountNumber") String accountNumber, Limit limit);
+
+    @Query("""
+            select t from Transaction t
+             where t.bankAccount.accountNumber = :accountNumber
+               and (t.createdTimestamp > :createdTimestamp
+                    or (t.createdTimestamp = :createdTimestamp and t.id > :id))
+             order by t.createdTimestamp, t.id
+            """)
+    List<Transaction> findPageAfter(@Param("accountNumber") String accountNumber,
+            @Param("createdTimestamp") OffsetDateTime createdTimestamp,
+            @Param("id") String id,
+            Limit limit);
+
+    /**
+     * Forward-only cursor over the whole history, projected straight into DTOs so rows are never
+     * attached to the persistence context. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.eaglebank.dto.TransactionResponseDto(
+                       t.id, t.amount, t.currency, t.type, t.reference, t.userId,
+                       t.createdTimestamp)
+              from Transaction t
+             where t.bankAccount.accountNumber = :accountNumber
+             order by t.createdTimestamp, t.id
+            """)
+    Stream<TransactionResponseDto> streamAllByAccountNumber(
+            @Param("accountNumber") String accountNumber);
 }
@@ -3,8 +3,28 @@ package com.eaglebank.repository;
 import com.eaglebank.model.User;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, String> {
 
     Optional<User> findByEmail(String email);
+
+    /**
+     * Replaces the password hash only if it has not changed since it was read, so a background
+     * rehash never overwrites a password the user has just changed.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update User u
+               set u.password = :newPassword
+             where u.id = :id
+               and u.password = :currentPassword
+            """)
+    int updatePasswordIfUnchanged(@Param("id") String id,
+            @Param("currentPassword") String currentPassword,
+            @Param("newPassword") String newPassword);
 }
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,6 +21,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(final HttpServletRequest request,
@@ -35,24 +37,28 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 final String email = jwtUserDetails.email();
                 final String userId = jwtUserDetails.id();
 
-                if (email != null && SecurityContextHolder.getContext()
-                                             .getAuthentication() == null) {
-                    final var user = userRepository.findByEmail(email)
-                            .orElse(null);
-                    if (user != null) {
-                        final AuthenticatedUser userDetails = new AuthenticatedUser(userId, email,
-                                List.of());
-                        final UsernamePasswordAuthenticationToken auth =
-                                new UsernamePasswordAuthenticationToken(userDetails, null,
-                                        List.of());
-                        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext()
-                                .setAuthentication(auth);
-                    }
+                if (email != null && userId != null && SecurityContextHolder.getContext()
+                                                                .getAuthentication() == null) {
+                    principalCache.get(userId, this::loadPrincipal)
+                            .filter(principal -> email.equals(principal.getUsername()))
+                            .ifPresent(principal -> {
+                                final UsernamePasswordAuthenticationToken auth =
+                                        new UsernamePasswordAuthenticationToken(principal, null,
+                                                List.of());
+                                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(
+                                        request));
+                                SecurityContextHolder.getContext()
+                                        .setAuthentication(auth);
+                            });
                 }
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private Optional<AuthenticatedUser> loadPrincipal(final String userId) {
+        return userRepository.findById(userId)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), List.of()));
+    }
 }
@@ -1,11 +1,22 @@
 package com.eaglebank.security;
 
 import com.eaglebank.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -13,9 +24,27 @@ public class JwtUtil {
 
     private final Key key;
     private final long EXPIRATION = 1000 * 60 * 60;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    public JwtUtil(Key key) {
+    /**
+     * @param verifiedTokensMaxSize upper bound on remembered verifications; entries are keyed by a
+     *                              SHA-256 digest of the token, never the token itself, and expire
+     *                              with the token's {@code exp} claim
+     */
+    public JwtUtil(final Key key, final long verifiedTokensMaxSize,
+            final MeterRegistry meterRegistry) {
         this.key = key;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokensMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "tokens");
     }
 
     public String generateToken(final User user) {
@@ -28,20 +57,66 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Returns the verified user details, or {@code null} when the token is malformed, badly signed
+     * or expired. Successful verifications are remembered until the token expires, so repeated
+     * requests with the same token skip the signature check and claim parsing.
+     */
     public JwtUserDetails validateTokenAndGetUserDetails(final String token) {
+        final VerifiedToken verified = verifiedTokens.get(digest(token), digest -> verify(token));
+        return verified == null ? null : verified.userDetails();
+    }
+
+    private VerifiedToken verify(final String token) {
         try {
-            final Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
+            final Claims claims = parser.parseClaimsJws(token)
                     .getBody();
 
             final String userId = claims.get("userId", String.class);
             final String email = claims.getSubject();
+            final Date expiration = claims.getExpiration();
 
-            return new JwtUserDetails(userId, email);
+            return new VerifiedToken(new JwtUserDetails(userId, email),
+                    expiration == null ? System.currentTimeMillis() + EXPIRATION
+                            : expiration.getTime());
         } catch (JwtException e) {
             return null;
         }
     }
+
+    private static String digest(final String token) {
+        try {
+            return Base64.getEncoder()
+                    .encodeToString(MessageDigest.getInstance("SHA-256")
+                            .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(JwtUserDetails userDetails, long expiresAtMillis) {
+
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(final String digest, final VerifiedToken token,
+                final long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(
+                    Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String digest, final VerifiedToken token,
+                final long currentTime, final long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String digest, final VerifiedToken token,
+                final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package com.eaglebank.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by user id, so the auth filter only
+ * hits the users table once per user per TTL. Entries are invalidated locally when a user is updated
+ * or deleted; on other instances they age out with the TTL.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(@Value("${eaglebank.security.principal-cache.max-size:10000}") final long maxSize,
+            @Value("${eaglebank.security.principal-cache.ttl:5m}") final Duration ttl,
+            final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Returns the cached principal, loading it on a miss. Nothing is cached when the loader finds no
+     * user.
+     */
+    public Optional<AuthenticatedUser> get(final String userId,
+            final Function<String, Optional<AuthenticatedUser>> loader) {
+        return Optional.ofNullable(cache.get(userId, id -> loader.apply(id)
+                .orElse(null)));
+    }
+
+    public void invalidate(final String userId) {
+        cache.invalidate(userId);
+    }
+}
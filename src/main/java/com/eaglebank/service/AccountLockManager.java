@@ -0,0 +1,78 @@
+package com.eaglebank.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes balance postings per account number using a fixed array of lock stripes, so postings
+ * on the same account never interleave while postings on different accounts run in parallel.
+ */
+@Component
+public class AccountLockManager {
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] stripes;
+    private final Counter[] contended;
+    private final int mask;
+
+    public AccountLockManager(@Value("${eaglebank.transactions.lock-stripes:64}") final int stripeCount,
+            final MeterRegistry meterRegistry) {
+        if (stripeCount < 1 || stripeCount > MAX_STRIPES) {
+            throw new IllegalArgumentException("Lock stripes must be between 1 and " + MAX_STRIPES);
+        }
+
+        final int size = Integer.highestOneBit(stripeCount) == stripeCount
+                ? stripeCount
+                : Integer.highestOneBit(stripeCount) << 1;
+
+        this.stripes = new ReentrantLock[size];
+        this.contended = new Counter[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            final ReentrantLock lock = new ReentrantLock();
+            final String stripe = String.valueOf(i);
+
+            stripes[i] = lock;
+            contended[i] = Counter.builder("account.lock.contended")
+                    .description("Lock acquisitions that had to wait for another posting")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            Gauge.builder("account.lock.waiting", lock, ReentrantLock::getQueueLength)
+                    .description("Threads currently queued on the stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T withLock(final String accountNumber, final Supplier<T> action) {
+        final int stripe = stripeFor(accountNumber);
+        final ReentrantLock lock = stripes[stripe];
+
+        if (!lock.tryLock()) {
+            contended[stripe].increment();
+            lock.lock();
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    int stripeFor(final String accountNumber) {
+        final int hash = accountNumber.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,58 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.AccountMetadata;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.repository.BankAccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, read-through cache of {@link AccountMetadata} keyed by account number, so ownership
+ * checks and metadata reads do not need an account query. The account service writes through on
+ * create and update and invalidates on delete; on other instances entries age out with the TTL.
+ * Postings never change cached fields.
+ */
+@Component
+public class AccountMetadataCache {
+
+    private final BankAccountRepository bankAccountRepository;
+    private final Cache<String, AccountMetadata> cache;
+
+    public AccountMetadataCache(final BankAccountRepository bankAccountRepository,
+            @Value("${eaglebank.accounts.metadata-cache.max-size:10000}") final long maxSize,
+            @Value("${eaglebank.accounts.metadata-cache.ttl:10m}") final Duration ttl,
+            final MeterRegistry meterRegistry) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accounts");
+    }
+
+    /**
+     * Returns the account's metadata, loading it on a miss. Nothing is cached for an unknown account.
+     */
+    public Optional<AccountMetadata> get(final String accountNumber) {
+        return Optional.ofNullable(cache.get(accountNumber,
+                number -> bankAccountRepository.findById(number)
+                        .map(AccountMetadata::of)
+                        .orElse(null)));
+    }
+
+    public void put(final BankAccount account) {
+        cache.put(account.getAccountNumber(), AccountMetadata.of(account));
+    }
+
+    public void invalidate(final String accountNumber) {
+        cache.invalidate(accountNumber);
+    }
+}
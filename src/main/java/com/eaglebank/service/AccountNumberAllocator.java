@@ -0,0 +1,117 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.SequenceLease;
+import com.eaglebank.repository.SequenceLeaseRepository;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out account numbers without probing the accounts table. Instances lease blocks of
+ * namespace indexes from {@link SequenceLease}, dispense them from memory with a single
+ * atomic increment, and map each index through a fixed permutation of the namespace so that
+ * consecutive accounts do not get consecutive numbers.
+ */
+@Component
+public class AccountNumberAllocator {
+
+    static final String LEASE_NAME = "account-number";
+    static final long NAMESPACE = 900_000;
+
+    private static final String PREFIX = "01";
+    private static final long FIRST_SUFFIX = 100_000;
+    // Coprime with NAMESPACE (2^5 * 3^2 * 5^5), so index -> index * MULTIPLIER + OFFSET is a bijection
+    private static final long MULTIPLIER = 387_419;
+    private static final long OFFSET = 517_823;
+
+    private final SequenceLeaseRepository leaseRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final int blockSize;
+    // Not synchronized: refills block on the database and must not pin a virtual thread
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    private volatile Block block = new Block(0, 0);
+
+    public AccountNumberAllocator(final SequenceLeaseRepository leaseRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${eaglebank.accounts.number-block-size:100}") final int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.leaseRepository = leaseRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String nextAccountNumber() {
+        return PREFIX + (FIRST_SUFFIX + permute(nextIndex()));
+    }
+
+    static long permute(final long index) {
+        return (index * MULTIPLIER + OFFSET) % NAMESPACE;
+    }
+
+    private long nextIndex() {
+        while (true) {
+            final Block current = block;
+            final long index = current.next.getAndIncrement();
+            if (index < current.end) {
+                return index;
+            }
+            refill(current);
+        }
+    }
+
+    private void refill(final Block exhausted) {
+        refillLock.lock();
+        try {
+            if (block != exhausted) {
+                return;
+            }
+            final long start = leaseBlock();
+            block = new Block(start, Math.min(start + blockSize, NAMESPACE));
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private long leaseBlock() {
+        try {
+            return leaseTransaction.execute(status -> advanceLease());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease row first; it is there to lock now
+            return leaseTransaction.execute(status -> advanceLease());
+        }
+    }
+
+    private long advanceLease() {
+        final SequenceLease lease = leaseRepository.findLockedByName(LEASE_NAME)
+                .orElseGet(() -> new SequenceLease(LEASE_NAME, 0));
+        final long start = lease.getNextIndex();
+
+        if (start >= NAMESPACE) {
+            throw new IllegalStateException("Account number namespace exhausted");
+        }
+
+        lease.setNextIndex(start + blockSize);
+        leaseRepository.saveAndFlush(lease);
+        return start;
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(final long start, final long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.eaglebank.service;
+
+import com.eaglebank.dto.BalanceResponseDto;
+import com.eaglebank.model.AccountMetadata;
+import com.eaglebank.model.BalanceCheckpoint;
+import com.eaglebank.model.JobWatermark;
+import com.eaglebank.repository.BalanceCheckpointRepository;
+import com.eaglebank.repository.JobWatermarkRepository;
+import com.eaglebank.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Answers balance-at-a-time queries from periodic checkpoints. A query reads the latest checkpoint
+ * at or before the requested time and sums only the ledger lines after it, so its cost depends on
+ * the checkpoint interval rather than on the age of the account.
+ *
+ * <p>Checkpoints are written in bulk on {@code eaglebank.balances.checkpoint.interval}, each run
+ * extending the previous one from the cut-off kept in the {@code balance-checkpoint} job watermark.
+ * The cut-off trails the clock by {@code settle-delay}, so postings stamped before it are normally
+ * committed by then. Ledger lines are stamped before they commit, though, so a posting that takes
+ * longer can land behind a checkpoint already written. Every run therefore also checks the latest
+ * checkpoint of each account with lines stamped after the previous cut-off, less
+ * {@code reconcile-lookback}, against its stored balance, and re-sums the checkpoints of any that
+ * disagree. A posting can only be missed if its transaction outlasts the settle delay, so the
+ * lookback has to cover how much longer than that a transaction may take.
+ */
+@Slf4j
+@Service
+public class BalanceCheckpointService {
+
+    static final String JOB_NAME = "balance-checkpoint";
+    private static final OffsetDateTime BEGINNING = Instant.EPOCH.atOffset(ZoneOffset.UTC);
+
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final JobWatermarkRepository watermarkRepository;
+    private final AccountMetadataCache accountMetadataCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settleDelay;
+    private final Duration reconcileLookback;
+    private final Counter rebuilt;
+
+    public BalanceCheckpointService(final BalanceCheckpointRepository balanceCheckpointRepository,
+            final LedgerEntryRepository ledgerEntryRepository,
+            final JobWatermarkRepository watermarkRepository,
+            final AccountMetadataCache accountMetadataCache,
+            final PlatformTransactionManager transactionManager,
+            @Value("${eaglebank.balances.checkpoint.settle-delay:1m}") final Duration settleDelay,
+            @Value("${eaglebank.balances.checkpoint.reconcile-lookback:10m}")
+            final Duration reconcileLookback,
+            final MeterRegistry meterRegistry) {
+        this.balanceCheckpointRepository = balanceCheckpointRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.accountMetadataCache = accountMetadataCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settleDelay = settleDelay;
+        this.reconcileLookback = reconcileLookback;
+        this.rebuilt = Counter.builder("balance.checkpoints.rebuilt")
+                .description("Accounts whose checkpoints missed a late ledger line")
+                .register(meterRegistry);
+    }
+
+    public BalanceResponseDto getBalance(final String accountNumber, final String userId,
+            final OffsetDateTime asOf) {
+        final AccountMetadata account = accountMetadataCache.get(accountNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+
+        if (!account.isOwnedBy(userId)) {
+            throw new AccessDeniedException("You are not allowed to access this account");
+        }
+
+        final OffsetDateTime at = asOf != null ? asOf : OffsetDateTime.now();
+        final Optional<BalanceCheckpoint> checkpoint = balanceCheckpointRepository
+                .findFirstByAccountNumberAndCheckpointTimestampLessThanEqualOrderByCheckpointTimestampDesc(
+                        accountNumber, at);
+        final BigDecimal tail = ledgerEntryRepository.sumByAccountNumberBetween(accountNumber,
+                checkpoint.map(BalanceCheckpoint::getCheckpointTimestamp)
+                        .orElse(BEGINNING), at);
+
+        return new BalanceResponseDto(accountNumber, checkpoint.map(BalanceCheckpoint::getBalance)
+                .orElse(BigDecimal.ZERO)
+                .add(tail), account.currency(), at);
+    }
+
+    @Scheduled(fixedDelayString = "${eaglebank.balances.checkpoint.interval:1h}",
+            initialDelayString = "${eaglebank.balances.checkpoint.interval:1h}")
+    public void writeCheckpoints() {
+        writeCheckpoints(OffsetDateTime.now()
+                .minus(settleDelay));
+    }
+
+    /**
+     * Checkpoints every account with ledger lines since the previous cut-off, as of
+     * {@code cutoff}, then repairs accounts whose checkpoints missed a late line. Returns the number
+     * of checkpoints written.
+     */
+    public int writeCheckpoints(final OffsetDateTime cutoff) {
+        // Stored with microsecond precision; truncating keeps the watermark and checkpoints equal
+        final OffsetDateTime at = cutoff.truncatedTo(ChronoUnit.MICROS);
+
+        try {
+            return transactionTemplate.execute(status -> advance(at));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the watermark row first; it is there to lock now
+            return transactionTemplate.execute(status -> advance(at));
+        }
+    }
+
+    private int advance(final OffsetDateTime cutoff) {
+        final JobWatermark watermark = watermarkRepository.findLockedByName(JOB_NAME)
+                .orElseGet(() -> new JobWatermark(JOB_NAME, BEGINNING));
+        final OffsetDateTime previous = watermark.getWatermark();
+
+        if (!cutoff.isAfter(previous)) {
+            return 0;
+        }
+
+        final int written = balanceCheckpointRepository.insertCheckpoints(previous, cutoff);
+        watermark.setWatermark(cutoff);
+        watermarkRepository.saveAndFlush(watermark);
+        rebuildStaleCheckpoints(previous.minus(reconcileLookback));
+
+        log.debug("Wrote {} balance checkpoints as of {}", written, cutoff);
+        return written;
+    }
+
+    /**
+     * The late line's balancing line on the external account committed with it, so the external
+     * account of each stale account's currency is re-summed too.
+     */
+    private void rebuildStaleCheckpoints(final OffsetDateTime since) {
+        final List<String> stale = balanceCheckpointRepository
+                .findStaleAccountNumbersChangedSince(since);
+
+        if (!stale.isEmpty()) {
+            log.warn("Balance checkpoints missed ledger lines that committed late for accounts {};"
+                    + " rebuilding them", stale);
+            final Set<String> accounts = new TreeSet<>(stale);
+            stale.forEach(accountNumber -> accountMetadataCache.get(accountNumber)
+                    .ifPresent(account -> accounts.add(
+                            LedgerService.EXTERNAL_ACCOUNT_PREFIX + account.currency())));
+            accounts.forEach(balanceCheckpointRepository::rebuildCheckpoints);
+            rebuilt.increment(stale.size());
+        }
+    }
+}
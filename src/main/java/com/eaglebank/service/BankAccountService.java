@@ -1,12 +1,12 @@
 package com.eaglebank.service;
 
-import static com.eaglebank.utils.BankAccountUtils.generateAccountNumber;
 import static com.eaglebank.utils.BankAccountUtils.generateSortCode;
 
 import com.eaglebank.dto.BankAccountResponseDto;
 import com.eaglebank.dto.CreateBankAccountRequestDto;
 import com.eaglebank.dto.UpdateBankAccountRequestDto;
 import com.eaglebank.mapper.BankAccountMapper;
+import com.eaglebank.model.AccountMetadata;
 import com.eaglebank.model.BankAccount;
 import com.eaglebank.model.User;
 import com.eaglebank.repository.BankAccountRepository;
@@ -24,6 +24,8 @@ public class BankAccountService {
 
     private static final String CURRENCY = "GBP";
     private final BankAccountRepository bankAccountRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountMetadataCache accountMetadataCache;
 
     public List<BankAccountResponseDto> getBankAccounts(final String userId) {
         return bankAccountRepository.findAllByUser_Id(userId)
@@ -40,7 +42,7 @@ public class BankAccountService {
         final User user = new User();
 
         user.setId(userId);
-        bankAccount.setAccountNumber(generateUniqueAccountNumber(sortCode));
+        bankAccount.setAccountNumber(accountNumberAllocator.nextAccountNumber());
         bankAccount.setSortCode(sortCode);
         bankAccount.setBalance(BigDecimal.ZERO);
         bankAccount.setCreatedTimestamp(OffsetDateTime.now());
@@ -48,33 +50,22 @@ public class BankAccountService {
         bankAccount.setCurrency(CURRENCY);
         bankAccount.setUser(user);
 
-        return BankAccountMapper.toDto(
-                bankAccountRepository.save(bankAccount));
+        final BankAccount saved = bankAccountRepository.save(bankAccount);
+        accountMetadataCache.put(saved);
+
+        return BankAccountMapper.toDto(saved);
     }
 
     public BankAccountResponseDto getBankAccount(final String accountNumber, final String userId) {
-        final BankAccount bankAccount = bankAccountRepository.findById(accountNumber)
-                .orElseThrow(() -> new EntityNotFoundException("Bank account not found"));
-
-        if (!userId.equals(bankAccount.getUser()
-                .getId())) {
-            throw new AccessDeniedException("You are not allowed to access this resource.");
-        }
-
-        return BankAccountMapper.toDto(bankAccount);
+        // The balance is never cached, so the account is loaded anyway
+        return BankAccountMapper.toDto(loadOwnedAccount(accountNumber, userId));
     }
 
     public BankAccountResponseDto updateBankAccount(final String accountNumber,
             final String userId,
             final
             UpdateBankAccountRequestDto bankAccountRequest) {
-        final BankAccount bankAccount = bankAccountRepository.findById(accountNumber)
-                .orElseThrow(() -> new EntityNotFoundException("Bank account not found"));
-
-        if (!userId.equals(bankAccount.getUser()
-                .getId())) {
-            throw new AccessDeniedException("You are not allowed to access this resource.");
-        }
+        final BankAccount bankAccount = loadOwnedAccount(accountNumber, userId);
 
         if (bankAccountRequest.name() != null) {
             bankAccount.setName(bankAccountRequest.name());
@@ -86,10 +77,20 @@ public class BankAccountService {
 
         bankAccount.setUpdatedTimestamp(OffsetDateTime.now());
 
-        return BankAccountMapper.toDto(bankAccountRepository.save(bankAccount));
+        final BankAccount saved = bankAccountRepository.save(bankAccount);
+        accountMetadataCache.put(saved);
+
+        return BankAccountMapper.toDto(saved);
     }
 
     public void deleteBankAccount(final String accountNumber, final String userId) {
+        requireOwnedAccount(accountNumber, userId);
+
+        bankAccountRepository.deleteById(accountNumber);
+        accountMetadataCache.invalidate(accountNumber);
+    }
+
+    private BankAccount loadOwnedAccount(final String accountNumber, final String userId) {
         final BankAccount bankAccount = bankAccountRepository.findById(accountNumber)
                 .orElseThrow(() -> new EntityNotFoundException("Bank account not found"));
 
@@ -98,14 +99,15 @@ public class BankAccountService {
             throw new AccessDeniedException("You are not allowed to access this resource.");
         }
 
-        bankAccountRepository.deleteById(accountNumber);
+        return bankAccount;
     }
 
-    public String generateUniqueAccountNumber(final String sortCode) {
-        String accountNumber;
-        do {
-            accountNumber = generateAccountNumber();
-        } while (bankAccountRepository.existsByAccountNumberAndSortCode(accountNumber, sortCode));
-        return accountNumber;
+    private void requireOwnedAccount(final String accountNumber, final String userId) {
+        final AccountMetadata account = accountMetadataCache.get(accountNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Bank account not found"));
+
+        if (!account.isOwnedBy(userId)) {
+            throw new AccessDeniedException("You are not allowed to access this resource.");
+        }
     }
 }
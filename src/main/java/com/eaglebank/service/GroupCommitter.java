@@ -0,0 +1,331 @@
+package com.eaglebank.service;
+
+import com.eaglebank.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Coalesces concurrent postings into shared database transactions, so that one commit covers many
+ * postings. Callers queue their work and block until the transaction it ran in has committed. A
+ * single flusher thread takes the first queued posting, waits up to {@code max-latency} for more,
+ * and commits at most {@code max-batch} of them together.
+ *
+ * <p>Postings in a batch run in key order, so rows are locked in the same order as transfers and
+ * journal entries. When a posting fails, the group is rolled back and committed again without it;
+ * the failed posting is then retried in its own transaction, so its failure only reaches its own
+ * caller and the rest still share a commit. Only when the commit itself fails is every posting
+ * retried alone. Work must therefore be safe to run again after a rollback.
+ */
+@Slf4j
+@Component
+public class GroupCommitter {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatch;
+    private final long maxLatencyNanos;
+    private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final Counter commits;
+    private final Counter postings;
+    private final DistributionSummary batchSize;
+    private final long timeoutNanos;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile Thread flusher;
+    private volatile boolean stopped;
+
+    public GroupCommitter(final TransactionTemplate transactionTemplate,
+            @Value("${eaglebank.transactions.group-commit.max-batch:64}") final int maxBatch,
+            @Value("${eaglebank.transactions.group-commit.max-latency:500us}")
+            final Duration maxLatency,
+            @Value("${eaglebank.transactions.group-commit.timeout:10s}") final Duration timeout,
+            final MeterRegistry meterRegistry) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Group commit max batch must be at least 1");
+        }
+
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatch = maxBatch;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+        this.commits = Counter.builder("transactions.group-commit.commits")
+                .description("Database transactions committed by the group committer")
+                .register(meterRegistry);
+        this.postings = Counter.builder("transactions.group-commit.postings")
+                .description("Postings completed by the group committer")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("transactions.group-commit.batch-size")
+                .description("Postings taken together for one commit attempt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code work} in a transaction shared with other queued postings and returns its result
+     * once that transaction has committed. Exceptions thrown by the work are rethrown to the caller.
+     * A posting still queued after {@code timeout} is withdrawn and rejected with
+     * {@link TooManyRequestsException}; one already taken into a group waits for that commit.
+     */
+    public <T> T submit(final String key, final Supplier<T> work) {
+        final Pending<T> pending = new Pending<>(key, work);
+
+        if (stopped) {
+            throw new IllegalStateException("Group committer stopped");
+        }
+        if (!started.get() && started.compareAndSet(false, true)) {
+            startFlusher();
+        }
+        queue.add(pending);
+        if (stopped) {
+            // Raced with stop(), which may already have drained the queue
+            failQueued();
+        }
+
+        try {
+            return pending.future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (pending.take()) {
+                throw new TooManyRequestsException(
+                        "Too many postings waiting to commit, please retry later.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            if (pending.take()) {
+                throw new IllegalStateException("Interrupted while waiting for group commit", e);
+            }
+        } catch (ExecutionException e) {
+            throw rethrown(e.getCause());
+        }
+
+        // Already running in a group, whose commit decides the outcome and always completes it
+        try {
+            return pending.future.join();
+        } catch (CompletionException e) {
+            throw rethrown(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+        final Thread current = flusher;
+        if (current != null) {
+            current.interrupt();
+        }
+        failQueued();
+    }
+
+    /**
+     * Started by the first posting and afterwards only by a flusher that is dying, so that
+     * submitting never takes a lock.
+     */
+    private void startFlusher() {
+        flusher = Thread.ofPlatform()
+                .name("group-commit")
+                .daemon()
+                .start(this::run);
+        if (stopped) {
+            // stop() may have looked for a flusher before this one was assigned
+            flusher.interrupt();
+        }
+    }
+
+    private void run() {
+        final List<Pending<?>> batch = new ArrayList<>(maxBatch);
+
+        try {
+            while (true) {
+                batch.add(queue.take());
+                fill(batch);
+                // Callers that timed out while queued have withdrawn their postings
+                batch.removeIf(pending -> !pending.take());
+                commitOrFail(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            batch.forEach(pending -> pending.future.completeExceptionally(
+                    new IllegalStateException("Group committer stopped")));
+            failQueued();
+        } catch (Throwable t) {
+            log.error("Group commit flusher failed, starting another", t);
+            final IllegalStateException failure = new IllegalStateException("Group commit failed",
+                    t);
+            batch.forEach(pending -> pending.future.completeExceptionally(failure));
+            if (stopped) {
+                failQueued();
+            } else {
+                startFlusher();
+            }
+        }
+    }
+
+    /**
+     * Whatever goes wrong with one batch fails only that batch's callers and leaves the flusher
+     * running for the next.
+     */
+    private void commitOrFail(final List<Pending<?>> batch) {
+        try {
+            if (!batch.isEmpty()) {
+                commit(batch);
+            }
+        } catch (Throwable t) {
+            log.error("Group commit of {} postings failed", batch.size(), t);
+            final IllegalStateException failure = new IllegalStateException("Group commit failed",
+                    t);
+            batch.forEach(pending -> pending.future.completeExceptionally(failure));
+        }
+    }
+
+    private void failQueued() {
+        final List<Pending<?>> queued = new ArrayList<>();
+        queue.drainTo(queued);
+        queued.forEach(pending -> pending.future.completeExceptionally(
+                new IllegalStateException("Group committer stopped")));
+    }
+
+    private static RuntimeException rethrown(final Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Group commit failed", cause);
+    }
+
+    /**
+     * Adds whatever is already queued, then waits for more until the batch is full or the first
+     * posting has waited {@code max-latency}.
+     */
+    private void fill(final List<Pending<?>> batch) throws InterruptedException {
+        final long deadline = System.nanoTime() + maxLatencyNanos;
+
+        while (batch.size() < maxBatch) {
+            if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+                continue;
+            }
+
+            final long remaining = deadline - System.nanoTime();
+            final Pending<?> next = remaining > 0
+                    ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                    : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(final List<Pending<?>> batch) {
+        batch.sort(Comparator.comparing(Pending::key));
+        batchSize.record(batch.size());
+
+        final List<Pending<?>> group = new ArrayList<>(batch);
+        final List<Pending<?>> failed = new ArrayList<>();
+
+        while (!group.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> group.forEach(Pending::runInGroup));
+            } catch (PostingFailedException e) {
+                // Everything before it ran in the rolled-back transaction; commit the rest again
+                group.remove(e.pending);
+                failed.add(e.pending);
+                continue;
+            } catch (RuntimeException e) {
+                log.debug("Group commit of {} postings failed, retrying each alone", group.size(),
+                        e);
+                failed.addAll(group);
+                break;
+            }
+
+            commits.increment();
+            postings.increment(group.size());
+            group.forEach(Pending::complete);
+            break;
+        }
+
+        failed.forEach(this::commitAlone);
+    }
+
+    private void commitAlone(final Pending<?> pending) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> pending.run());
+        } catch (RuntimeException e) {
+            pending.future.completeExceptionally(e);
+            return;
+        }
+
+        commits.increment();
+        postings.increment();
+        pending.complete();
+    }
+
+    private static final class Pending<T> {
+
+        private final String key;
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicBoolean taken = new AtomicBoolean();
+        private T result;
+
+        private Pending(final String key, final Supplier<T> work) {
+            this.key = key;
+            this.work = work;
+        }
+
+        private String key() {
+            return key;
+        }
+
+        /**
+         * Claims the posting, either for a group or for its caller to withdraw; only one wins.
+         */
+        private boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+
+        private void run() {
+            result = work.get();
+        }
+
+        private void runInGroup() {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                throw new PostingFailedException(this, e);
+            }
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+    }
+
+    /**
+     * Marks which posting broke a group, so that the group can be committed again without it.
+     */
+    private static final class PostingFailedException extends RuntimeException {
+
+        private final transient Pending<?> pending;
+
+        private PostingFailedException(final Pending<?> pending, final RuntimeException cause) {
+            super(cause);
+            this.pending = pending;
+        }
+    }
+}
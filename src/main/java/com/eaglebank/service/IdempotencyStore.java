@@ -0,0 +1,112 @@
+package com.eaglebank.service;
+
+import com.eaglebank.dto.TransactionResponseDto;
+import com.eaglebank.mapper.TransactionMapper;
+import com.eaglebank.model.IdempotencyKey;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.repository.IdempotencyKeyRepository;
+import com.eaglebank.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which transaction each {@code Idempotency-Key} produced, per user. Recent keys are
+ * answered from a bounded in-memory cache; the {@code idempotency_keys} table is the durable record
+ * and covers restarts and other instances. Keys are kept for the configured retention.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionRepository transactionRepository;
+    private final Duration retention;
+    private final Cache<IdempotencyKey.Key, StoredResult> recent;
+
+    public IdempotencyStore(final IdempotencyKeyRepository idempotencyKeyRepository,
+            final TransactionRepository transactionRepository,
+            @Value("${eaglebank.transactions.idempotency.cache-size:100000}") final long cacheSize,
+            @Value("${eaglebank.transactions.idempotency.retention:24h}") final Duration retention,
+            final MeterRegistry meterRegistry) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionRepository = transactionRepository;
+        this.retention = retention;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, recent, "idempotency-keys");
+    }
+
+    /**
+     * Returns the result stored for the key, if any. A key found only in the table is loaded into the
+     * cache for the retries that usually follow.
+     */
+    public Optional<StoredResult> find(final String userId, final String idempotencyKey) {
+        final IdempotencyKey.Key key = new IdempotencyKey.Key(userId, idempotencyKey);
+        final StoredResult cached = recent.getIfPresent(key);
+
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return idempotencyKeyRepository.findById(key)
+                .map(row -> {
+                    final StoredResult stored = new StoredResult(row.getAccountNumber(),
+                            TransactionMapper.toDto(transactionRepository.findById(
+                                            row.getTransactionId())
+                                    .orElseThrow(() -> new EntityNotFoundException(
+                                            "Transaction not found"))));
+                    recent.put(key, stored);
+                    return stored;
+                });
+    }
+
+    /**
+     * Writes the key for a new transaction. Must run inside the posting's database transaction; a
+     * concurrent request that already stored the same key makes this fail with a
+     * {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    public void record(final String userId, final String idempotencyKey,
+            final Transaction transaction) {
+        idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(userId, idempotencyKey,
+                transaction.getBankAccount()
+                        .getAccountNumber(),
+                transaction.getId(), OffsetDateTime.now()));
+    }
+
+    /**
+     * Caches the result of a committed posting.
+     */
+    public void remember(final String userId, final String idempotencyKey,
+            final String accountNumber, final TransactionResponseDto transaction) {
+        recent.put(new IdempotencyKey.Key(userId, idempotencyKey),
+                new StoredResult(accountNumber, transaction));
+    }
+
+    @Scheduled(fixedDelayString = "${eaglebank.transactions.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        final int purged = idempotencyKeyRepository.deleteCreatedBefore(OffsetDateTime.now()
+                .minus(retention));
+
+        if (purged > 0) {
+            log.debug("Purged {} idempotency keys older than {}", purged, retention);
+        }
+    }
+
+    public record StoredResult(String accountNumber, TransactionResponseDto transaction) {
+
+    }
+}
@@ -0,0 +1,189 @@
+package com.eaglebank.service;
+
+import com.eaglebank.dto.CreateJournalEntryRequestDto;
+import com.eaglebank.dto.JournalEntryResponseDto;
+import com.eaglebank.dto.JournalLegDto;
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.exception.UnprocessableEntityException;
+import com.eaglebank.model.AccountMetadata;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Posts balanced journal entries: any number of legs across different accounts whose amounts sum
+ * to zero, applied together or not at all. Debit legs must be on the caller's own accounts; credit
+ * legs may target any account in the entry's currency, including other customers' accounts, since
+ * paying someone needs no consent from them, just as with a deposit. What one entry can move is
+ * bounded by the funds on the debited accounts, the per-leg cap on {@link JournalLegDto} and
+ * {@code eaglebank.transactions.journal.max-legs}.
+ */
+@Service
+@RequiredArgsConstructor
+public class JournalService {
+
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountMetadataCache accountMetadataCache;
+    private final LedgerService ledgerService;
+    private final EntityManager entityManager;
+
+    @Value("${eaglebank.transactions.journal.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${eaglebank.transactions.journal.max-legs:2500}")
+    private int maxLegs = 2500;
+
+    public JournalEntryResponseDto createJournalEntry(final String userId,
+            final CreateJournalEntryRequestDto dto) {
+        if (dto.legs()
+                .size() > maxLegs) {
+            throw new IllegalArgumentException(
+                    "Journal entries may have at most " + maxLegs + " legs");
+        }
+
+        final List<JournalLegDto> legs = sortedLegs(dto.legs());
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal debited = BigDecimal.ZERO;
+
+        for (JournalLegDto leg : legs) {
+            if (leg.amount()
+                    .signum() == 0) {
+                throw new IllegalArgumentException("Journal legs must have a non-zero amount");
+            }
+            if (leg.amount()
+                    .signum() < 0) {
+                requireOwnedAccount(leg.accountNumber(), userId);
+                debited = debited.add(leg.amount());
+            }
+            total = total.add(leg.amount());
+        }
+        if (total.signum() != 0) {
+            throw new IllegalArgumentException("Journal legs must sum to zero");
+        }
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            final String journalId = ledgerService.openJournal(dto.reference(), now);
+            for (int from = 0; from < legs.size(); from += chunkSize) {
+                postChunk(legs.subList(from, Math.min(from + chunkSize, legs.size())), userId,
+                        journalId, dto, now);
+            }
+        });
+
+        return new JournalEntryResponseDto(legs.size(), debited.negate(), dto.currency(),
+                dto.reference(), now);
+    }
+
+    /**
+     * Locks, updates and writes one slice of the entry, then flushes it as JDBC batches and
+     * detaches it, so memory held by the persistence context does not grow with the entry. Legs
+     * are sorted by account number and slices run in order, so concurrent entries and transfers
+     * always lock rows in the same order.
+     */
+    private void postChunk(final List<JournalLegDto> legs, final String userId,
+            final String journalId, final CreateJournalEntryRequestDto dto,
+            final OffsetDateTime now) {
+        final Map<String, BankAccount> accounts = bankAccountRepository
+                .findAllLockedByAccountNumberIn(legs.stream()
+                        .map(JournalLegDto::accountNumber)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(BankAccount::getAccountNumber, Function.identity()));
+        final List<Transaction> transactions = new ArrayList<>(legs.size());
+
+        for (JournalLegDto leg : legs) {
+            final BankAccount account = accounts.get(leg.accountNumber());
+            final boolean accepted = account != null && account.getCurrency()
+                    .equals(dto.currency());
+
+            if (!accepted && leg.amount()
+                    .signum() > 0) {
+                // Credited accounts may belong to anyone, so do not tell which one failed or why
+                throw new IllegalArgumentException("A credit leg cannot be posted to its account");
+            }
+            if (account == null) {
+                throw new EntityNotFoundException("Account not found: " + leg.accountNumber());
+            }
+            if (!accepted) {
+                throw new IllegalArgumentException(
+                        "Currency mismatch on account " + leg.accountNumber());
+            }
+
+            final BigDecimal newBalance = account.getBalance()
+                    .add(leg.amount());
+            if (newBalance.signum() < 0) {
+                throw new UnprocessableEntityException(
+                        "Insufficient funds on account " + leg.accountNumber());
+            }
+            account.setBalance(newBalance);
+            account.setUpdatedTimestamp(now);
+            transactions.add(buildTransaction(account, userId, leg, dto, now));
+        }
+
+        transactionRepository.saveAll(transactions);
+        ledgerService.append(journalId, transactions);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Transaction buildTransaction(final BankAccount account, final String userId,
+            final JournalLegDto leg, final CreateJournalEntryRequestDto dto,
+            final OffsetDateTime now) {
+        final Transaction transaction = new Transaction(leg.amount()
+                .abs(), dto.currency(),
+                leg.amount()
+                        .signum() < 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT,
+                leg.reference() != null ? leg.reference() : dto.reference(), now);
+
+        transaction.setId(transactionIdGenerator.nextId());
+        transaction.setUserId(userId);
+        transaction.setBankAccount(account);
+
+        return transaction;
+    }
+
+    private void requireOwnedAccount(final String accountNumber, final String userId) {
+        final AccountMetadata account = accountMetadataCache.get(accountNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+
+        if (!account.isOwnedBy(userId)) {
+            throw new AccessDeniedException("You are not allowed to debit this account");
+        }
+    }
+
+    private static List<JournalLegDto> sortedLegs(final List<JournalLegDto> legs) {
+        final Set<String> seen = new HashSet<>(legs.size() * 2);
+
+        for (JournalLegDto leg : legs) {
+            if (!seen.add(leg.accountNumber())) {
+                throw new IllegalArgumentException(
+                        "Account " + leg.accountNumber() + " appears in more than one leg");
+            }
+        }
+
+        final List<JournalLegDto> sorted = new ArrayList<>(legs);
+        sorted.sort(Comparator.comparing(JournalLegDto::accountNumber));
+        return sorted;
+    }
+}
@@ -0,0 +1,221 @@
+package com.eaglebank.service;
+
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.LedgerEntry;
+import com.eaglebank.model.LedgerJournal;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.LedgerEntryRepository;
+import com.eaglebank.repository.LedgerJournalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Append-only double-entry ledger beneath {@link Transaction}. Every posting also writes a journal
+ * whose signed lines sum to zero: one line per transaction, plus a balancing line on the
+ * currency's external account for money entering or leaving the bank. The ledger is the record of
+ * truth; {@code bank_accounts.balance} is the running total of each account's lines, kept in the
+ * same database transaction so that withdrawals can be checked against it without summing.
+ *
+ * <p>Ledger writes are inserts only, so they never contend on a shared row. {@link #verify()}
+ * checks stored balances against the ledger over independent account ranges in parallel.
+ */
+@Slf4j
+@Service
+public class LedgerService {
+
+    static final String EXTERNAL_ACCOUNT_PREFIX = "EXTERNAL:";
+
+    private final LedgerJournalRepository ledgerJournalRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final boolean repair;
+    private final AtomicInteger mismatchedAccounts = new AtomicInteger();
+
+    public LedgerService(final LedgerJournalRepository ledgerJournalRepository,
+            final LedgerEntryRepository ledgerEntryRepository,
+            final BankAccountRepository bankAccountRepository,
+            final TransactionIdGenerator transactionIdGenerator,
+            final PlatformTransactionManager transactionManager,
+            @Value("${eaglebank.ledger.verify.partitions:4}") final int partitions,
+            @Value("${eaglebank.ledger.verify.repair:false}") final boolean repair,
+            final MeterRegistry meterRegistry) {
+        this.ledgerJournalRepository = ledgerJournalRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitions = partitions;
+        this.repair = repair;
+
+        meterRegistry.gauge("ledger.mismatched.accounts", mismatchedAccounts);
+    }
+
+    /**
+     * Writes one journal for the transactions, balanced against the external account of each
+     * currency they do not net to zero in. Must run inside the posting's database transaction.
+     */
+    public String record(final String reference, final List<Transaction> transactions) {
+        final LedgerJournal journal = ledgerJournalRepository.save(new LedgerJournal(
+                transactionIdGenerator.nextJournalId(), reference, OffsetDateTime.now()));
+        final Map<String, BigDecimal> net = append(journal.getId(), transactions);
+
+        final List<LedgerEntry> balancing = new ArrayList<>(1);
+        net.forEach((currency, amount) -> {
+            if (amount.signum() != 0) {
+                balancing.add(new LedgerEntry(journal.getId() + ":" + currency, journal,
+                        EXTERNAL_ACCOUNT_PREFIX + currency, amount.negate(), currency,
+                        journal.getCreatedTimestamp()));
+            }
+        });
+        ledgerEntryRepository.saveAll(balancing);
+
+        return journal.getId();
+    }
+
+    /**
+     * Starts a journal whose lines are added in several {@link #append} calls, for entries too large
+     * to hold at once. The caller guarantees that the lines sum to zero.
+     */
+    public String openJournal(final String reference, final OffsetDateTime now) {
+        return ledgerJournalRepository.save(new LedgerJournal(
+                        transactionIdGenerator.nextJournalId(), reference, now))
+                .getId();
+    }
+
+    /**
+     * Adds one line per transaction to an open journal and returns their net amount per currency.
+     */
+    public Map<String, BigDecimal> append(final String journalId,
+            final List<Transaction> transactions) {
+        final LedgerJournal journal = ledgerJournalRepository.getReferenceById(journalId);
+        final List<LedgerEntry> entries = new ArrayList<>(transactions.size());
+        final Map<String, BigDecimal> net = new HashMap<>(2);
+
+        for (Transaction transaction : transactions) {
+            final BigDecimal amount = transaction.getType() == TransactionType.WITHDRAWAL
+                    ? transaction.getAmount()
+                            .negate()
+                    : transaction.getAmount();
+
+            entries.add(new LedgerEntry(transaction.getId(), journal, transaction.getBankAccount()
+                    .getAccountNumber(), amount, transaction.getCurrency(),
+                    transaction.getCreatedTimestamp()));
+            net.merge(transaction.getCurrency(), amount, BigDecimal::add);
+        }
+        ledgerEntryRepository.saveAll(entries);
+
+        return net;
+    }
+
+    /**
+     * Compares every stored balance with the sum of its ledger lines, and checks that every journal
+     * balances. Account ranges are checked concurrently, each in its own read-only query.
+     */
+    public Verification verify() {
+        final List<String> mismatched = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<List<String>>> ranges = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                final String from = lowerBound(partition);
+                final String to = lowerBound(partition + 1);
+                ranges.add(executor.submit(
+                        () -> ledgerEntryRepository.findMismatchedAccountNumbers(from, to)));
+            }
+            final Future<List<String>> unbalanced = executor.submit(
+                    ledgerJournalRepository::findUnbalancedJournalIds);
+
+            for (Future<List<String>> range : ranges) {
+                mismatched.addAll(range.get());
+            }
+            return new Verification(mismatched, unbalanced.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new IllegalStateException("Ledger verification was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ledger verification failed", e.getCause());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${eaglebank.ledger.verify.interval:1h}",
+            initialDelayString = "${eaglebank.ledger.verify.interval:1h}")
+    public void verifyPeriodically() {
+        final Verification verification = verify();
+        mismatchedAccounts.set(verification.mismatchedAccounts()
+                .size());
+
+        if (!verification.unbalancedJournals()
+                .isEmpty()) {
+            log.error("Unbalanced ledger journals: {}", verification.unbalancedJournals());
+        }
+        if (!verification.mismatchedAccounts()
+                .isEmpty()) {
+            log.error("Balances differ from the ledger for accounts {}{}",
+                    verification.mismatchedAccounts(), repair ? "; rebuilding them" : "");
+            if (repair) {
+                verification.mismatchedAccounts()
+                        .forEach(this::rebuildBalance);
+            }
+        }
+    }
+
+    /**
+     * Resets the stored balance to the sum of the account's ledger lines. The row is locked first,
+     * so every posting that touched the account has committed its lines before they are summed.
+     */
+    public BigDecimal rebuildBalance(final String accountNumber) {
+        return transactionTemplate.execute(status -> {
+            final BankAccount account = bankAccountRepository.findLockedByAccountNumber(
+                            accountNumber)
+                    .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+            final BigDecimal balance = ledgerEntryRepository.sumByAccountNumber(accountNumber);
+
+            account.setBalance(balance);
+            account.setUpdatedTimestamp(OffsetDateTime.now());
+            return balance;
+        });
+    }
+
+    /**
+     * Account numbers are {@code 01} followed by six digits; partitions split the digits evenly.
+     */
+    private String lowerBound(final int partition) {
+        if (partition == 0) {
+            return "";
+        }
+        if (partition == partitions) {
+            return "02";
+        }
+        return String.format("01%06d", 1_000_000L * partition / partitions);
+    }
+
+    public record Verification(List<String> mismatchedAccounts, List<String> unbalancedJournals) {
+
+        public boolean isConsistent() {
+            return mismatchedAccounts.isEmpty() && unbalancedJournals.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.eaglebank.service;
+
+/**
+ * How {@link TransactionService} protects an account balance against concurrent postings.
+ */
+public enum PostingMode {
+    /**
+     * Single guarded {@code UPDATE} that adds the signed amount on the database side, with no entity
+     * load on the happy path.
+     */
+    ATOMIC,
+
+    /**
+     * Read-modify-write of the account entity while holding the account's lock stripe.
+     */
+    LOCKING,
+
+    /**
+     * Versioned conditional update, retried with jittered backoff when another posting wins.
+     */
+    OPTIMISTIC,
+
+    /**
+     * The same guarded {@code UPDATE} as {@link #ATOMIC}, queued and committed together with other
+     * concurrent postings by {@link GroupCommitter}.
+     */
+    GROUP_COMMIT
+}
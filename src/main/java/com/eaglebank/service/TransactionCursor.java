@@ -0,0 +1,47 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.Transaction;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in an account's transaction history, handed to clients as an opaque string.
+ */
+record TransactionCursor(OffsetDateTime createdTimestamp, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    static TransactionCursor after(final Transaction transaction) {
+        return new TransactionCursor(transaction.getCreatedTimestamp(), transaction.getId());
+    }
+
+    static TransactionCursor decode(final String cursor) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder()
+                    .decode(cursor), StandardCharsets.UTF_8);
+            final int separator = decoded.indexOf(SEPARATOR);
+
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            return new TransactionCursor(
+                    Instant.parse(decoded.substring(0, separator))
+                            .atOffset(ZoneOffset.UTC),
+                    decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        final String raw = createdTimestamp.toInstant() + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
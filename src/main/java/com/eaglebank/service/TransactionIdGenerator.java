@@ -0,0 +1,117 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.SequenceLease;
+import com.eaglebank.repository.SequenceLeaseRepository;
+import com.eaglebank.utils.Base62;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates transaction ids of the form {@code tan-} plus 11 base62 characters, encoding a 63-bit
+ * value of 41 bits of milliseconds since 2025-01-01, a 10-bit node id and a 12-bit sequence.
+ * Ledger journal ids are drawn from the same sequence with a {@code jnl-} prefix instead.
+ *
+ * <p>Time and sequence share one {@link AtomicLong}, so generation is a single CAS loop. Ids
+ * from one node are strictly increasing: when a millisecond's 4096 sequence values run out, or the
+ * clock steps back, the generator runs ahead of the clock rather than waiting. The fixed-width
+ * encoding keeps string order equal to numeric order.
+ *
+ * <p>The node id comes from {@code eaglebank.ids.node-id}, or when unset is leased from the
+ * database, so that running instances never share one.
+ */
+@Slf4j
+@Component
+public class TransactionIdGenerator {
+
+    static final String NODE_LEASE_NAME = "node-id";
+    static final int NODE_BITS = 10;
+    static final int MAX_NODES = 1 << NODE_BITS;
+    static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+    private static final String PREFIX = "tan-";
+    private static final String JOURNAL_PREFIX = "jnl-";
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 11;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Milliseconds since the epoch, shifted left by SEQUENCE_BITS, plus the sequence
+    private final AtomicLong lastTick = new AtomicLong();
+
+    @Autowired
+    public TransactionIdGenerator(@Value("${eaglebank.ids.node-id:-1}") final int nodeId,
+            final SequenceLeaseRepository leaseRepository,
+            final PlatformTransactionManager transactionManager) {
+        this(nodeId >= 0
+                ? nodeId
+                : leaseNodeId(leaseRepository, transactionManager), System::currentTimeMillis);
+    }
+
+    TransactionIdGenerator(final int nodeId, final LongSupplier clock) {
+        if (nodeId < 0 || nodeId >= MAX_NODES) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + (MAX_NODES - 1));
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+        log.info("Transaction ids use node id {}", nodeId);
+    }
+
+    public String nextId() {
+        return encode(nextValue());
+    }
+
+    public String nextJournalId() {
+        return encode(JOURNAL_PREFIX, nextValue());
+    }
+
+    long nextValue() {
+        final long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        final long tick = lastTick.accumulateAndGet(now, (last, current) -> Math.max(last + 1,
+                current));
+
+        return (tick & ~SEQUENCE_MASK) << NODE_BITS | nodeBits | tick & SEQUENCE_MASK;
+    }
+
+    static String encode(final long value) {
+        return encode(PREFIX, value);
+    }
+
+    private static String encode(final String prefix, final long value) {
+        final char[] chars = new char[prefix.length() + ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        Base62.encode(value, chars, prefix.length(), ENCODED_LENGTH);
+        return new String(chars);
+    }
+
+    private static int leaseNodeId(final SequenceLeaseRepository leaseRepository,
+            final PlatformTransactionManager transactionManager) {
+        final TransactionTemplate leaseTransaction = new TransactionTemplate(transactionManager);
+        leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            return leaseTransaction.execute(status -> advanceLease(leaseRepository));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease row first; it is there to lock now
+            return leaseTransaction.execute(status -> advanceLease(leaseRepository));
+        }
+    }
+
+    private static int advanceLease(final SequenceLeaseRepository leaseRepository) {
+        final SequenceLease lease = leaseRepository.findLockedByName(NODE_LEASE_NAME)
+                .orElseGet(() -> new SequenceLease(NODE_LEASE_NAME, 0));
+        final long next = lease.getNextIndex();
+
+        lease.setNextIndex(next + 1);
+        leaseRepository.saveAndFlush(lease);
+        return (int) (next % MAX_NODES);
+    }
+}
@@ -1,94 +1,470 @@
 package com.eaglebank.service;
 
 import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.CreateTransferRequestDto;
+import com.eaglebank.dto.TransactionBatchItemDto;
+import com.eaglebank.dto.TransactionBatchItemStatus;
+import com.eaglebank.dto.TransactionBatchResponseDto;
+import com.eaglebank.dto.TransactionPageResponseDto;
 import com.eaglebank.dto.TransactionResponseDto;
 import com.eaglebank.dto.TransactionType;
+import com.eaglebank.dto.TransferResponseDto;
 import com.eaglebank.exception.UnprocessableEntityException;
 import com.eaglebank.mapper.TransactionMapper;
+import com.eaglebank.model.AccountMetadata;
 import com.eaglebank.model.BankAccount;
 import com.eaglebank.model.Transaction;
 import com.eaglebank.repository.BankAccountRepository;
 import com.eaglebank.repository.TransactionRepository;
 import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
+    static final String BATCH_REFERENCE_PREFIX = "batch:";
+    static final String TRANSFER_REFERENCE_PREFIX = "transfer:";
+    static final String POSTING_REFERENCE_PREFIX = "posting:";
+
     private final BankAccountRepository bankAccountRepository;
     private final TransactionRepository transactionRepository;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyStore idempotencyStore;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountMetadataCache accountMetadataCache;
+    private final LedgerService ledgerService;
+    private final GroupCommitter groupCommitter;
+
+    @Value("${eaglebank.transactions.posting-mode:ATOMIC}")
+    private PostingMode postingMode = PostingMode.ATOMIC;
+
+    @Value("${eaglebank.transactions.optimistic.max-attempts:5}")
+    private int optimisticMaxAttempts = 5;
+
+    @Value("${eaglebank.transactions.optimistic.backoff-millis:2}")
+    private long optimisticBackoffMillis = 2;
+
+    @Value("${eaglebank.transactions.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${eaglebank.transactions.page.max-size:200}")
+    private int maxPageSize = 200;
 
-    @Transactional
     public TransactionResponseDto createTransaction(final String accountNumber, final String userId,
             CreateTransactionRequestDto dto) {
-        final BankAccount account = bankAccountRepository.findById(accountNumber)
-                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+        return createTransaction(accountNumber, userId, dto, null);
+    }
 
-        validatePayload(userId, dto, account);
+    /**
+     * With an idempotency key, a repeated request returns the transaction the first one created and
+     * does not post again. The key is stored in the same database transaction as the posting, so
+     * when two requests with the same key race, the later one rolls back and replays the earlier.
+     */
+    public TransactionResponseDto createTransaction(final String accountNumber, final String userId,
+            final CreateTransactionRequestDto dto, final String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return post(accountNumber, userId, dto, null);
+        }
 
-        if (dto.type() == TransactionType.DEPOSIT) {
-            account.setBalance(account.getBalance()
-                    .add(dto.amount()));
-        } else {
-            account.setBalance(account.getBalance()
-                    .subtract(dto.amount()));
+        final Optional<IdempotencyStore.StoredResult> previous = idempotencyStore.find(userId,
+                idempotencyKey);
+        if (previous.isPresent()) {
+            return replay(previous.get(), accountNumber, dto);
         }
 
-        account.setUpdatedTimestamp(OffsetDateTime.now());
+        try {
+            final TransactionResponseDto created = post(accountNumber, userId, dto,
+                    idempotencyKey);
+            idempotencyStore.remember(userId, idempotencyKey, accountNumber, created);
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            // Databases name the violated key differently; the stored row is the reliable signal
+            return replay(idempotencyStore.find(userId, idempotencyKey)
+                    .orElseThrow(() -> e), accountNumber, dto);
+        }
+    }
 
-        final String transactionId = "tan-" + UUID.randomUUID()
-                .toString()
-                .replace("-", "")
-                .substring(0, 6);
-        final Transaction transaction = TransactionMapper.toEntity(dto);
+    private TransactionResponseDto post(final String accountNumber, final String userId,
+            final CreateTransactionRequestDto dto, final String idempotencyKey) {
+        return switch (postingMode) {
+            case ATOMIC -> transactionTemplate.execute(
+                    status -> atomicDelta(accountNumber, userId, dto, idempotencyKey));
+            case OPTIMISTIC -> postOptimistically(accountNumber, userId, dto, idempotencyKey);
+            case LOCKING -> postUnderLock(accountNumber, userId, dto, idempotencyKey);
+            case GROUP_COMMIT -> groupCommitter.submit(accountNumber,
+                    () -> atomicDelta(accountNumber, userId, dto, idempotencyKey));
+        };
+    }
 
-        transaction.setId(transactionId);
-        transaction.setUserId(userId);
-        transaction.setBankAccount(account);
+    private static TransactionResponseDto replay(final IdempotencyStore.StoredResult previous,
+            final String accountNumber, final CreateTransactionRequestDto dto) {
+        final TransactionResponseDto transaction = previous.transaction();
 
-        transactionRepository.save(transaction);
+        final boolean sameRequest = previous.accountNumber()
+                .equals(accountNumber)
+                && transaction.amount()
+                .compareTo(dto.amount()) == 0
+                && transaction.currency()
+                .equals(dto.currency())
+                && transaction.type() == dto.type()
+                && Objects.equals(transaction.reference(), dto.reference());
+
+        if (!sameRequest) {
+            throw new UnprocessableEntityException(
+                    "Idempotency-Key was already used for a different request");
+        }
+
+        return transaction;
+    }
+
+    /**
+     * The ownership, currency and funds checks live in the UPDATE itself. The account is only
+     * loaded when the update matched no row, to report which check failed.
+     */
+    private TransactionResponseDto atomicDelta(final String accountNumber, final String userId,
+            final CreateTransactionRequestDto dto, final String idempotencyKey) {
+        final boolean applied = bankAccountRepository.applyBalanceDelta(accountNumber, userId,
+                dto.currency(), signedAmount(dto), OffsetDateTime.now()) == 1;
+
+        if (!applied) {
+            final BankAccount account = bankAccountRepository.findById(accountNumber)
+                    .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+
+            validatePayload(userId, dto, account);
+
+            throw new UnprocessableEntityException("Insufficient funds");
+        }
+
+        return TransactionMapper.toDto(saveTransaction(
+                bankAccountRepository.getReferenceById(accountNumber), userId, dto,
+                idempotencyKey));
+    }
+
+    /**
+     * The lock is taken outside the database transaction so a concurrent posting cannot read the
+     * balance before this one commits.
+     */
+    private TransactionResponseDto postUnderLock(final String accountNumber, final String userId,
+            final CreateTransactionRequestDto dto, final String idempotencyKey) {
+        return accountLockManager.withLock(accountNumber,
+                () -> transactionTemplate.execute(
+                        status -> readModifyWrite(accountNumber, userId, dto, idempotencyKey)));
+    }
+
+    private TransactionResponseDto readModifyWrite(final String accountNumber, final String userId,
+            final CreateTransactionRequestDto dto, final String idempotencyKey) {
+        final BankAccount account = bankAccountRepository.findById(accountNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+
+        validatePayload(userId, dto, account);
+
+        account.setBalance(account.getBalance()
+                .add(signedAmount(dto)));
+        account.setUpdatedTimestamp(OffsetDateTime.now());
+
+        final Transaction transaction = saveTransaction(account, userId, dto, idempotencyKey);
         bankAccountRepository.save(account);
 
         return TransactionMapper.toDto(transaction);
     }
 
-    public List<TransactionResponseDto> getTransactions(String accountNumber, String userId) {
+    /**
+     * Each attempt runs in its own short database transaction, so no row lock is held while waiting
+     * to retry after another posting has bumped the account version.
+     */
+    private TransactionResponseDto postOptimistically(final String accountNumber,
+            final String userId,
+            final CreateTransactionRequestDto dto,
+            final String idempotencyKey) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(
+                        status -> versionedUpdate(accountNumber, userId, dto, idempotencyKey));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= optimisticMaxAttempts) {
+                    throw e;
+                }
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private TransactionResponseDto versionedUpdate(final String accountNumber, final String userId,
+            final CreateTransactionRequestDto dto, final String idempotencyKey) {
         final BankAccount account = bankAccountRepository.findById(accountNumber)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found"));
 
+        validatePayload(userId, dto, account);
+
+        final int updated = bankAccountRepository.applyBalanceDeltaIfVersionMatches(accountNumber,
+                signedAmount(dto), account.getVersion(), OffsetDateTime.now());
+
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException(
+                    "Account was modified by a concurrent transaction");
+        }
+
+        return TransactionMapper.toDto(saveTransaction(account, userId, dto, idempotencyKey));
+    }
+
+    private void backOff(final int attempt, final OptimisticLockingFailureException conflict) {
+        final long ceiling = optimisticBackoffMillis << Math.min(attempt - 1, 10);
+
+        try {
+            Thread.sleep(ThreadLocalRandom.current()
+                    .nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw conflict;
+        }
+    }
+
+    /**
+     * Applies a batch of postings in one database transaction. The account row is locked once,
+     * items are checked against a running balance in order, and accepted rows are inserted through
+     * JDBC batching. Items that fail the currency or funds check are rejected individually. The
+     * accepted items share one ledger journal, referenced by the id of the first of them.
+     */
+    public TransactionBatchResponseDto createTransactions(final String accountNumber,
+            final String userId,
+            final List<CreateTransactionRequestDto> dtos) {
+        return transactionTemplate.execute(status -> postBatch(accountNumber, userId, dtos));
+    }
+
+    private TransactionBatchResponseDto postBatch(final String accountNumber, final String userId,
+            final List<CreateTransactionRequestDto> dtos) {
+        final BankAccount account = bankAccountRepository.findLockedByAccountNumber(accountNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+
         if (!account.getUser()
                 .getId()
                 .equals(userId)) {
             throw new AccessDeniedException("You are not allowed to transact on this account");
         }
 
-        final List<Transaction> transactions = transactionRepository.findAllByBankAccount_AccountNumber(
-                accountNumber);
+        final List<Transaction> accepted = new ArrayList<>(dtos.size());
+        final List<TransactionBatchItemDto> results = new ArrayList<>(dtos.size());
+        BigDecimal balance = account.getBalance();
+
+        for (int index = 0; index < dtos.size(); index++) {
+            final CreateTransactionRequestDto dto = dtos.get(index);
+            final BigDecimal newBalance = balance.add(signedAmount(dto));
+
+            if (!account.getCurrency()
+                    .equals(dto.currency())) {
+                results.add(rejected(index, "Currency mismatch"));
+            } else if (newBalance.signum() < 0) {
+                results.add(rejected(index, "Insufficient funds"));
+            } else {
+                final Transaction transaction = buildTransaction(account, userId, dto);
+
+                balance = newBalance;
+                accepted.add(transaction);
+                results.add(new TransactionBatchItemDto(index, TransactionBatchItemStatus.CREATED,
+                        TransactionMapper.toDto(transaction), null));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            account.setBalance(balance);
+            account.setUpdatedTimestamp(OffsetDateTime.now());
+            transactionRepository.saveAll(accepted);
+            ledgerService.record(BATCH_REFERENCE_PREFIX + accepted.getFirst()
+                    .getId(), accepted);
+        }
 
-        return transactions.stream()
-                .map(TransactionMapper::toDto)
-                .toList();
+        return new TransactionBatchResponseDto(accepted.size(), dtos.size() - accepted.size(),
+                results);
     }
 
-    public TransactionResponseDto getTransaction(String userId,
-            String accountNumber,
-            String transactionId) {
-        final BankAccount account = bankAccountRepository.findById(accountNumber)
+    /**
+     * Moves money between two accounts of the same user in one database transaction: a withdrawal
+     * on the source and a deposit on the target. Both rows are locked in account number order, so
+     * transfers running in opposite directions between the same pair queue behind each other instead
+     * of deadlocking.
+     */
+    public TransferResponseDto transfer(final String fromAccountNumber, final String userId,
+            final CreateTransferRequestDto dto) {
+        final String toAccountNumber = dto.toAccountNumber();
+
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        requireOwnedAccount(fromAccountNumber, userId,
+                "You are not allowed to transact on this account");
+        requireOwnedAccount(toAccountNumber, userId,
+                "You are not allowed to transfer to this account");
+
+        return transactionTemplate.execute(
+                status -> postTransfer(fromAccountNumber, toAccountNumber, userId, dto));
+    }
+
+    private TransferResponseDto postTransfer(final String fromAccountNumber,
+            final String toAccountNumber,
+            final String userId,
+            final CreateTransferRequestDto dto) {
+        final boolean sourceFirst = fromAccountNumber.compareTo(toAccountNumber) < 0;
+        final BankAccount first = lockAccount(sourceFirst ? fromAccountNumber : toAccountNumber);
+        final BankAccount second = lockAccount(sourceFirst ? toAccountNumber : fromAccountNumber);
+        final BankAccount source = sourceFirst ? first : second;
+        final BankAccount target = sourceFirst ? second : first;
+
+        if (!source.getCurrency()
+                .equals(dto.currency())
+                || !target.getCurrency()
+                .equals(dto.currency())) {
+            throw new IllegalArgumentException("Currency mismatch");
+        }
+
+        if (source.getBalance()
+                .compareTo(dto.amount()) < 0) {
+            throw new UnprocessableEntityException("Insufficient funds");
+        }
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        source.setBalance(source.getBalance()
+                .subtract(dto.amount()));
+        source.setUpdatedTimestamp(now);
+        target.setBalance(target.getBalance()
+                .add(dto.amount()));
+        target.setUpdatedTimestamp(now);
+
+        final Transaction debit = buildTransaction(source, userId,
+                new CreateTransactionRequestDto(dto.amount(), dto.currency(),
+                        TransactionType.WITHDRAWAL, dto.reference()));
+        final Transaction credit = buildTransaction(target, userId,
+                new CreateTransactionRequestDto(dto.amount(), dto.currency(),
+                        TransactionType.DEPOSIT, dto.reference()));
+        final List<Transaction> legs = List.of(debit, credit);
+        transactionRepository.saveAll(legs);
+        ledgerService.record(TRANSFER_REFERENCE_PREFIX + debit.getId(), legs);
+
+        return new TransferResponseDto(fromAccountNumber, toAccountNumber,
+                TransactionMapper.toDto(debit), TransactionMapper.toDto(credit));
+    }
+
+    private BankAccount lockAccount(final String accountNumber) {
+        return bankAccountRepository.findLockedByAccountNumber(accountNumber)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+    }
 
-        if (!account.getUser()
-                .getId()
-                .equals(userId)) {
-            throw new AccessDeniedException("You are not allowed to access this account");
+    private static TransactionBatchItemDto rejected(final int index, final String error) {
+        return new TransactionBatchItemDto(index, TransactionBatchItemStatus.REJECTED, null, error);
+    }
+
+    private Transaction saveTransaction(final BankAccount account, final String userId,
+            final CreateTransactionRequestDto dto, final String idempotencyKey) {
+        final Transaction transaction = buildTransaction(account, userId, dto);
+
+        transactionRepository.save(transaction);
+        ledgerService.record(POSTING_REFERENCE_PREFIX + transaction.getId(), List.of(transaction));
+        if (idempotencyKey != null) {
+            idempotencyStore.record(userId, idempotencyKey, transaction);
         }
 
+        return transaction;
+    }
+
+    private Transaction buildTransaction(final BankAccount account, final String userId,
+            final CreateTransactionRequestDto dto) {
+        final Transaction transaction = TransactionMapper.toEntity(dto);
+
+        transaction.setId(transactionIdGenerator.nextId());
+        transaction.setUserId(userId);
+        transaction.setBankAccount(account);
+
+        return transaction;
+    }
+
+    private static BigDecimal signedAmount(final CreateTransactionRequestDto dto) {
+        return dto.type() == TransactionType.DEPOSIT
+                ? dto.amount()
+                : dto.amount()
+                        .negate();
+    }
+
+    /**
+     * Returns one page of the account's history in (createdTimestamp, id) order. Pages are read by
+     * keyset from the composite index, so cost does not grow with the number of earlier rows.
+     */
+    public TransactionPageResponseDto getTransactions(final String accountNumber,
+            final String userId,
+            final String cursor,
+            final Integer limit) {
+        requireOwnedAccount(accountNumber, userId,
+                "You are not allowed to transact on this account");
+
+        final int pageSize = limit == null
+                ? defaultPageSize
+                : Math.max(1, Math.min(limit, maxPageSize));
+        final Limit fetch = Limit.of(pageSize + 1);
+        final List<Transaction> transactions;
+
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findFirstPage(accountNumber, fetch);
+        } else {
+            final TransactionCursor after = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findPageAfter(accountNumber,
+                    after.createdTimestamp(), after.id(), fetch);
+        }
+
+        final boolean hasMore = transactions.size() > pageSize;
+        final List<Transaction> page = hasMore
+                ? transactions.subList(0, pageSize)
+                : transactions;
+
+        return new TransactionPageResponseDto(
+                page.stream()
+                        .map(TransactionMapper::toDto)
+                        .toList(),
+                hasMore
+                        ? TransactionCursor.after(page.get(pageSize - 1))
+                                .encode()
+                        : null);
+    }
+
+    public void verifyAccountOwner(final String accountNumber, final String userId) {
+        requireOwnedAccount(accountNumber, userId, "You are not allowed to access this account");
+    }
+
+    /**
+     * Feeds every transaction of the account to the consumer in history order without buffering.
+     * Callers are expected to have checked ownership with {@link #verifyAccountOwner}.
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactions(final String accountNumber,
+            final Consumer<TransactionResponseDto> consumer) {
+        try (Stream<TransactionResponseDto> transactions =
+                transactionRepository.streamAllByAccountNumber(accountNumber)) {
+            transactions.forEach(consumer);
+        }
+    }
+
+    public TransactionResponseDto getTransaction(String userId,
+            String accountNumber,
+            String transactionId) {
+        requireOwnedAccount(accountNumber, userId, "You are not allowed to access this account");
+
         final Transaction transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found"));
 
@@ -102,6 +478,19 @@ public class TransactionService {
         return TransactionMapper.toDto(transaction);
     }
 
+    /**
+     * Ownership check against cached account metadata, for paths that do not need the balance.
+     */
+    private void requireOwnedAccount(final String accountNumber, final String userId,
+            final String deniedMessage) {
+        final AccountMetadata account = accountMetadataCache.get(accountNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+
+        if (!account.isOwnedBy(userId)) {
+            throw new AccessDeniedException(deniedMessage);
+        }
+    }
+
     private void validatePayload(final String userId,
             final CreateTransactionRequestDto dto,
             final BankAccount account) {
@@ -3,13 +3,18 @@ package com.eaglebank.service;
 import com.eaglebank.dto.CreateUserRequestDto;
 import com.eaglebank.dto.UpdateUserRequestDto;
 import com.eaglebank.dto.UserResponseDto;
+import com.eaglebank.exception.TooManyRequestsException;
 import com.eaglebank.mapper.UserMapper;
 import com.eaglebank.model.User;
 import com.eaglebank.repository.UserRepository;
+import com.eaglebank.security.PasswordHashingService;
+import com.eaglebank.security.PrincipalCache;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.OffsetDateTime;
+import java.util.Locale;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -17,20 +22,16 @@ import org.springframework.stereotype.Service;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final PrincipalCache principalCache;
 
     public UserResponseDto createUser(final CreateUserRequestDto userRequest) {
-        userRepository.findByEmail(userRequest.email())
-                .ifPresent(existingUser -> {
-                    throw new IllegalArgumentException("Email is already in use");
-                });
-
         final User user = UserMapper.toEntity(userRequest);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         user.setCreatedTimestamp(OffsetDateTime.now());
         user.setUpdatedTimestamp(OffsetDateTime.now());
 
-        return UserMapper.toDto(userRepository.save(user));
+        return UserMapper.toDto(saveCheckingEmail(user));
     }
 
     public UserResponseDto getUser(final String userId) {
@@ -51,12 +52,33 @@ public class UserService {
             user.setEmail(userRequest.email());
         }
         if (userRequest.password() != null) {
-            user.setPassword(passwordEncoder.encode(userRequest.password()));
+            user.setPassword(passwordHashingService.encode(userRequest.password()));
         }
 
         user.setUpdatedTimestamp(OffsetDateTime.now());
 
-        return UserMapper.toDto(userRepository.save(user));
+        final User saved = saveCheckingEmail(user);
+        principalCache.invalidate(userId);
+
+        return UserMapper.toDto(saved);
+    }
+
+    /**
+     * Re-hashes a just-verified password with the current algorithm and cost. Runs in the
+     * background so login latency is unaffected; if hashing capacity is exhausted the upgrade is
+     * skipped and retried on a later login.
+     */
+    @Async
+    public void upgradePasswordHash(final String userId, final String rawPassword,
+            final String currentHash) {
+        final String upgradedHash;
+        try {
+            upgradedHash = passwordHashingService.encode(rawPassword);
+        } catch (TooManyRequestsException e) {
+            return;
+        }
+
+        userRepository.updatePasswordIfUnchanged(userId, currentHash, upgradedHash);
     }
 
     public void deleteUser(final String userId) {
@@ -64,5 +86,28 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
         userRepository.delete(user);
+        principalCache.invalidate(userId);
+    }
+
+    /**
+     * Duplicate emails are detected by the unique constraint rather than a prior lookup, which
+     * could race with a concurrent sign-up.
+     */
+    private User saveCheckingEmail(final User user) {
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConstraint(e)) {
+                throw new IllegalArgumentException("Email is already in use");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isEmailConstraint(final DataIntegrityViolationException e) {
+        final String message = e.getMostSpecificCause()
+                .getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT)
+                .contains(User.EMAIL_CONSTRAINT);
     }
 }
@@ -0,0 +1,22 @@
+package com.eaglebank.utils;
+
+/**
+ * Fixed-width base62 encoding for generated ids. Digits run 0-9, A-Z, a-z, which is also their
+ * ASCII order, so fixed-width encodings sort the same way as the numbers they encode.
+ */
+public class Base62 {
+
+    private static final char[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /**
+     * Writes the low-order {@code length} base62 digits of a non-negative value into
+     * {@code chars}, most significant first and zero-padded.
+     */
+    public static void encode(long value, final char[] chars, final int offset, final int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = ALPHABET[(int) (value % ALPHABET.length)];
+            value /= ALPHABET.length;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+create table users (
+    id                varchar(255) not null,
+    name              varchar(255),
+    email             varchar(255),
+    password          varchar(255),
+    phone_number      varchar(255),
+    line1             varchar(255),
+    line2             varchar(255),
+    line3             varchar(255),
+    town              varchar(255),
+    county            varchar(255),
+    postcode          varchar(255),
+    created_timestamp timestamp(6) with time zone,
+    updated_timestamp timestamp(6) with time zone,
+    constraint pk_users primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table bank_accounts (
+    account_number    varchar(255) not null,
+    sort_code         varchar(255),
+    name              varchar(255),
+    account_type      varchar(32)  not null,
+    balance           numeric(38, 2),
+    currency          varchar(255),
+    version           bigint,
+    user_id           varchar(255) not null,
+    created_timestamp timestamp(6) with time zone,
+    updated_timestamp timestamp(6) with time zone,
+    constraint pk_bank_accounts primary key (account_number),
+    constraint uk_bank_accounts_number_sort_code unique (account_number, sort_code),
+    constraint fk_bank_accounts_user foreign key (user_id) references users (id)
+);
+
+create table transactions (
+    id                varchar(255) not null,
+    account_number    varchar(255) not null,
+    amount            numeric(38, 2),
+    currency          varchar(255),
+    type              varchar(32),
+    reference         varchar(255),
+    user_id           varchar(255),
+    created_timestamp timestamp(6) with time zone,
+    constraint pk_transactions primary key (id),
+    constraint fk_transactions_account foreign key (account_number)
+        references bank_accounts (account_number)
+);
+
+create index idx_transactions_account_created_id
+    on transactions (account_number, created_timestamp, id);
+
+create table sequence_leases (
+    name       varchar(255) not null,
+    next_index bigint       not null,
+    constraint pk_sequence_leases primary key (name)
+);
@@ -0,0 +1,10 @@
+create table idempotency_keys (
+    user_id           varchar(255) not null,
+    idempotency_key   varchar(255) not null,
+    account_number    varchar(255) not null,
+    transaction_id    varchar(255) not null,
+    created_timestamp timestamp(6) with time zone not null,
+    constraint pk_idempotency_keys primary key (user_id, idempotency_key)
+);
+
+create index idx_idempotency_keys_created on idempotency_keys (created_timestamp);
@@ -0,0 +1,40 @@
+create table ledger_journals (
+    id                varchar(255) not null,
+    reference         varchar(255),
+    created_timestamp timestamp(6) with time zone not null,
+    constraint pk_ledger_journals primary key (id)
+);
+
+create table ledger_entries (
+    id                varchar(255)   not null,
+    journal_id        varchar(255)   not null,
+    account_number    varchar(255)   not null,
+    amount            numeric(38, 2) not null,
+    currency          varchar(255)   not null,
+    created_timestamp timestamp(6) with time zone not null,
+    constraint pk_ledger_entries primary key (id),
+    constraint fk_ledger_entries_journal foreign key (journal_id)
+        references ledger_journals (id)
+);
+
+create index idx_ledger_entries_account on ledger_entries (account_number, amount);
+
+create index idx_ledger_entries_journal on ledger_entries (journal_id);
+
+-- Balances held before the ledger existed become opening entries against the external account
+insert into ledger_journals (id, reference, created_timestamp)
+select 'opening-' || account_number, 'Opening balance', current_timestamp
+  from bank_accounts
+ where balance <> 0;
+
+insert into ledger_entries (id, journal_id, account_number, amount, currency, created_timestamp)
+select 'opening-' || account_number, 'opening-' || account_number, account_number, balance,
+       currency, current_timestamp
+  from bank_accounts
+ where balance <> 0;
+
+insert into ledger_entries (id, journal_id, account_number, amount, currency, created_timestamp)
+select 'opening-ext-' || account_number, 'opening-' || account_number, 'EXTERNAL:' || currency,
+       -balance, currency, current_timestamp
+  from bank_accounts
+ where balance <> 0;
@@ -0,0 +1,22 @@
+create table balance_checkpoints (
+    account_number       varchar(255)   not null,
+    checkpoint_timestamp timestamp(6) with time zone not null,
+    balance              numeric(38, 2) not null,
+    constraint pk_balance_checkpoints primary key (account_number, checkpoint_timestamp)
+);
+
+-- Balance-as-of reads sum an account's lines in a time range; the checkpoint job reads one range
+-- across all accounts. The new account index also serves the whole-history sums of the old one.
+drop index idx_ledger_entries_account;
+
+create index idx_ledger_entries_account_created
+    on ledger_entries (account_number, created_timestamp, amount);
+
+create index idx_ledger_entries_created on ledger_entries (created_timestamp);
+
+-- Where each scheduled job got to, such as the cut-off of the last balance checkpoint run
+create table job_watermarks (
+    name      varchar(255)                not null,
+    watermark timestamp(6) with time zone not null,
+    constraint pk_job_watermarks primary key (name)
+);
@@ -0,0 +1,8 @@
+package com.eaglebank;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "eaglebank.transactions.posting-mode=ATOMIC")
+class AtomicPostingITests extends BaseConcurrentPostingTest {
+
+}
@@ -3,13 +3,18 @@ package com.eaglebank;
 import static com.eaglebank.testutils.UserTestCommons.EMAIL;
 import static com.eaglebank.testutils.UserTestCommons.PASSWORD;
 import static com.eaglebank.testutils.UserTestCommons.buildUserRequestDto;
+import static com.eaglebank.testutils.UserTestCommons.buildUserWithEncryptedPassword;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.eaglebank.dto.AuthRequestDto;
+import com.eaglebank.model.User;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 public class AuthITests extends BaseIntegrationTest {
 
@@ -44,4 +49,28 @@ public class AuthITests extends BaseIntegrationTest {
                         .content(objectMapper.writeValueAsString(new AuthRequestDto(EMAIL, "wrongPass"))))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void login_legacyUnprefixedHash_shouldUpgradeStoredHash() throws Exception {
+        final User user = buildUserWithEncryptedPassword();
+        user.setPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+        final String userId = userRepository.save(user)
+                .getId();
+
+        mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequestDto(EMAIL, PASSWORD))))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> userRepository.findById(userId)
+                        .orElseThrow()
+                        .getPassword()
+                        .startsWith("{bcrypt}"));
+
+        mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequestDto(EMAIL, PASSWORD))))
+                .andExpect(status().isOk());
+    }
 }
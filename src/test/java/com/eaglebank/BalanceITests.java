@@ -0,0 +1,170 @@
+package com.eaglebank;
+
+import static com.eaglebank.testutils.ApiTestCommons.createBankAccount;
+import static com.eaglebank.testutils.ApiTestCommons.createNewAccountAndGetToken;
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static com.eaglebank.testutils.UserTestCommons.EMAIL;
+import static com.eaglebank.testutils.UserTestCommons.NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.dto.BalanceResponseDto;
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.LedgerEntry;
+import com.eaglebank.model.LedgerJournal;
+import com.eaglebank.service.BalanceCheckpointService;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+public class BalanceITests extends BaseIntegrationTest {
+
+    private static final String CURRENCY = "GBP";
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    private String token;
+    private String accountNumber;
+
+    @BeforeEach
+    void setup() throws Exception {
+        this.token = createNewAccountAndGetToken(mockMvc, NAME, EMAIL);
+        this.accountNumber = createBankAccount(mockMvc, "Current", token)
+                .accountNumber();
+    }
+
+    @Test
+    void getBalance_asOfEarlierTimes_shouldMatchWithAndWithoutCheckpoints() throws Exception {
+        final OffsetDateTime beforeAnything = tick();
+        postTransaction(TransactionType.DEPOSIT, "100.00");
+        final OffsetDateTime afterFirst = tick();
+        postTransaction(TransactionType.DEPOSIT, "50.00");
+        final OffsetDateTime afterSecond = tick();
+        postTransaction(TransactionType.WITHDRAWAL, "30.00");
+
+        assertBalances(beforeAnything, afterFirst, afterSecond);
+
+        // The external account the deposits were booked against is checkpointed too
+        assertEquals(2, balanceCheckpointService.writeCheckpoints(afterFirst));
+        assertBalances(beforeAnything, afterFirst, afterSecond);
+
+        assertEquals(2, balanceCheckpointService.writeCheckpoints(OffsetDateTime.now()));
+        assertBalances(beforeAnything, afterFirst, afterSecond);
+        assertEquals(4, balanceCheckpointRepository.count());
+    }
+
+    @Test
+    void writeCheckpoints_noNewPostings_shouldKeepOlderCheckpoint() throws Exception {
+        postTransaction(TransactionType.DEPOSIT, "100.00");
+        final OffsetDateTime first = tick();
+        balanceCheckpointService.writeCheckpoints(first);
+
+        assertEquals(0, balanceCheckpointService.writeCheckpoints(tick()));
+        postTransaction(TransactionType.DEPOSIT, "1.00");
+
+        assertEquals(0, new BigDecimal("101.00").compareTo(balanceAt(null)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(balanceAt(first)));
+    }
+
+    @Test
+    void writeCheckpoints_lineCommittedBehindCheckpoint_shouldRebuildCheckpoints()
+            throws Exception {
+        postTransaction(TransactionType.DEPOSIT, "100.00");
+        final OffsetDateTime stamped = tick();
+        final OffsetDateTime first = tick();
+        balanceCheckpointService.writeCheckpoints(first);
+
+        // A posting stamped before the checkpoint whose transaction only committed after it
+        final LedgerJournal journal = ledgerJournalRepository.save(
+                new LedgerJournal("jnl-late", "late", stamped));
+        ledgerEntryRepository.saveAll(List.of(
+                new LedgerEntry("tan-late", journal, accountNumber, new BigDecimal("10.00"),
+                        CURRENCY, stamped),
+                new LedgerEntry("jnl-late", journal, "EXTERNAL:" + CURRENCY,
+                        new BigDecimal("-10.00"), CURRENCY, stamped)));
+        final BankAccount account = bankAccountRepository.findById(accountNumber)
+                .orElseThrow();
+        account.setBalance(account.getBalance()
+                .add(new BigDecimal("10.00")));
+        bankAccountRepository.save(account);
+
+        balanceCheckpointService.writeCheckpoints(tick());
+
+        assertEquals(0, new BigDecimal("110.00").compareTo(balanceAt(first)));
+        assertEquals(0, new BigDecimal("110.00").compareTo(balanceAt(null)));
+        assertEquals(0, new BigDecimal("-110.00").compareTo(balanceCheckpointRepository
+                .findFirstByAccountNumberAndCheckpointTimestampLessThanEqualOrderByCheckpointTimestampDesc(
+                        "EXTERNAL:" + CURRENCY, first)
+                .orElseThrow()
+                .getBalance()));
+    }
+
+    @Test
+    void getBalance_anotherUsersAccount_shouldReturnForbidden() throws Exception {
+        final String otherToken = createNewAccountAndGetToken(mockMvc,
+                "Other", "other@eaglebank.com");
+
+        mockMvc.perform(get("/v1/accounts/" + accountNumber + "/balance")
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getBalance_invalidAsOf_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/accounts/" + accountNumber + "/balance")
+                        .param("asOf", "yesterday")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertBalances(final OffsetDateTime beforeAnything,
+            final OffsetDateTime afterFirst, final OffsetDateTime afterSecond) throws Exception {
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceAt(beforeAnything)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(balanceAt(afterFirst)));
+        assertEquals(0, new BigDecimal("150.00").compareTo(balanceAt(afterSecond)));
+        assertEquals(0, new BigDecimal("120.00").compareTo(balanceAt(null)));
+    }
+
+    private BigDecimal balanceAt(final OffsetDateTime asOf) throws Exception {
+        final var request = get("/v1/accounts/" + accountNumber + "/balance")
+                .header("Authorization", "Bearer " + token);
+        if (asOf != null) {
+            request.param("asOf", asOf.toString());
+        }
+        final var response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readValue(response.getResponse()
+                .getContentAsString(), BalanceResponseDto.class).balance();
+    }
+
+    /**
+     * A timestamp strictly between the postings before and after it.
+     */
+    private static OffsetDateTime tick() throws InterruptedException {
+        Thread.sleep(5);
+        final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Thread.sleep(5);
+        return now;
+    }
+
+    private void postTransaction(final TransactionType type, final String amount) throws Exception {
+        mockMvc.perform(post("/v1/accounts/" + accountNumber + "/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateTransactionRequestDto(new BigDecimal(amount),
+                                CURRENCY, type, "Test"))))
+                .andExpect(status().isCreated());
+    }
+}
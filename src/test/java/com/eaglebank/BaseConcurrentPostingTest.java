@@ -0,0 +1,105 @@
+package com.eaglebank;
+
+import static com.eaglebank.testutils.ApiTestCommons.createBankAccount;
+import static com.eaglebank.testutils.ApiTestCommons.createNewAccountAndGetToken;
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static com.eaglebank.testutils.UserTestCommons.EMAIL;
+import static com.eaglebank.testutils.UserTestCommons.NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.TransactionType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Concurrent deposits to one account, run by a subclass for each posting mode it pins with
+ * {@code eaglebank.transactions.posting-mode}. Whatever was accepted must be exactly what the
+ * balance and the transaction rows show.
+ */
+public abstract class BaseConcurrentPostingTest extends BaseIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int POSTINGS_PER_THREAD = 25;
+
+    private String token;
+    private String accountNumber;
+
+    @BeforeEach
+    void setup() throws Exception {
+        this.token = createNewAccountAndGetToken(mockMvc, NAME, EMAIL);
+        this.accountNumber = createBankAccount(mockMvc, "Personal bank account", token)
+                .accountNumber();
+    }
+
+    @Test
+    void createTransaction_concurrentPostings_shouldNotLoseUpdates() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<Integer>> results = new ArrayList<>();
+        final List<Integer> rejections = Collections.synchronizedList(new ArrayList<>());
+        final MockHttpServletRequestBuilder deposit = post(
+                "/v1/accounts/" + accountNumber + "/transactions")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionRequestDto(BigDecimal.ONE, "GBP",
+                        TransactionType.DEPOSIT, "concurrent")));
+
+        int created = 0;
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int accepted = 0;
+                    for (int j = 0; j < POSTINGS_PER_THREAD; j++) {
+                        final int status = mockMvc.perform(deposit)
+                                .andReturn()
+                                .getResponse()
+                                .getStatus();
+                        if (status == 201) {
+                            accepted++;
+                        } else {
+                            rejections.add(status);
+                        }
+                    }
+                    return accepted;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                created += result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * POSTINGS_PER_THREAD, created + rejections.size());
+        assertTrue(allowedRejections().containsAll(rejections), "Rejected with " + rejections);
+        assertEquals(created, transactionRepository.count());
+        assertEquals(0, BigDecimal.valueOf(created)
+                .compareTo(bankAccountRepository.findById(accountNumber)
+                        .orElseThrow()
+                        .getBalance()));
+    }
+
+    /**
+     * Statuses a posting mode may answer some of the deposits with; none by default.
+     */
+    protected Set<Integer> allowedRejections() {
+        return Set.of();
+    }
+}
@@ -1,6 +1,11 @@
 package com.eaglebank;
 
+import com.eaglebank.repository.BalanceCheckpointRepository;
 import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.IdempotencyKeyRepository;
+import com.eaglebank.repository.JobWatermarkRepository;
+import com.eaglebank.repository.LedgerEntryRepository;
+import com.eaglebank.repository.LedgerJournalRepository;
 import com.eaglebank.repository.TransactionRepository;
 import com.eaglebank.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,6 +30,21 @@ public abstract class BaseIntegrationTest {
     @Autowired
     protected TransactionRepository transactionRepository;
 
+    @Autowired
+    protected IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    protected LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    protected LedgerJournalRepository ledgerJournalRepository;
+
+    @Autowired
+    protected BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Autowired
+    protected JobWatermarkRepository jobWatermarkRepository;
+
     @Autowired
     protected ObjectMapper objectMapper;
 
@@ -33,6 +53,11 @@ public abstract class BaseIntegrationTest {
 
     @BeforeEach
     void clearDatabase() {
+        idempotencyKeyRepository.deleteAll();
+        balanceCheckpointRepository.deleteAllInBatch();
+        jobWatermarkRepository.deleteAllInBatch();
+        ledgerEntryRepository.deleteAllInBatch();
+        ledgerJournalRepository.deleteAllInBatch();
         transactionRepository.deleteAll();
         bankAccountRepository.deleteAll();
         userRepository.deleteAll();
@@ -0,0 +1,141 @@
+package com.eaglebank;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static com.eaglebank.testutils.UserTestCommons.EMAIL;
+import static com.eaglebank.testutils.UserTestCommons.NAME;
+import static com.eaglebank.testutils.UserTestCommons.PASSWORD;
+import static com.eaglebank.testutils.UserTestCommons.buildUserRequestDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.dto.AccountType;
+import com.eaglebank.dto.AuthRequestDto;
+import com.eaglebank.dto.AuthResponseDto;
+import com.eaglebank.dto.BankAccountResponseDto;
+import com.eaglebank.dto.CreateBankAccountRequestDto;
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.TransactionType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@TestPropertySource(properties = "eaglebank.transactions.posting-mode=GROUP_COMMIT")
+class GroupCommitITests extends BaseIntegrationTest {
+
+    private static final String CURRENCY = "GBP";
+
+    private String token;
+    private String accountNumber;
+
+    @BeforeEach
+    void setup() throws Exception {
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildUserRequestDto(NAME, EMAIL, PASSWORD))))
+                .andExpect(status().isCreated());
+
+        final var login = mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new AuthRequestDto(EMAIL, PASSWORD))))
+                .andReturn();
+        token = objectMapper.readValue(login.getResponse()
+                .getContentAsString(), AuthResponseDto.class).token();
+
+        final var account = mockMvc.perform(post("/v1/accounts")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateBankAccountRequestDto("Group commit",
+                                AccountType.PERSONAL))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        accountNumber = objectMapper.readValue(account.getResponse()
+                .getContentAsString(), BankAccountResponseDto.class).accountNumber();
+    }
+
+    @Test
+    void createTransaction_groupCommitMode_shouldReturnTransaction() throws Exception {
+        mockMvc.perform(postTransaction("100.00", TransactionType.DEPOSIT))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.amount").value(100.00))
+                .andExpect(jsonPath("$.type").value("deposit"));
+
+        assertEquals(1, ledgerJournalRepository.count());
+    }
+
+    @Test
+    void createTransaction_groupCommitModeWithNoFunds_shouldReturnUnprocessableEntity()
+            throws Exception {
+        mockMvc.perform(postTransaction("1.00", TransactionType.WITHDRAWAL))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void createTransaction_concurrentPostingsWithFailures_shouldFailOnlyRejectedOnes()
+            throws Exception {
+        final int threads = 8;
+        final int postingsPerThread = 25;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                // Every other client only withdraws more than the account will ever hold
+                final MockHttpServletRequestBuilder request = i % 2 == 0
+                        ? postTransaction("1.00", TransactionType.DEPOSIT)
+                        : postTransaction("1000.00", TransactionType.WITHDRAWAL);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int created = 0;
+                    for (int j = 0; j < postingsPerThread; j++) {
+                        if (mockMvc.perform(request)
+                                    .andReturn()
+                                    .getResponse()
+                                    .getStatus() == 201) {
+                            created++;
+                        }
+                    }
+                    return created;
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < threads; i++) {
+                assertEquals(i % 2 == 0 ? postingsPerThread : 0, results.get(i)
+                        .get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final int deposits = threads / 2 * postingsPerThread;
+
+        assertEquals(deposits, transactionRepository.count());
+        assertEquals(0, BigDecimal.valueOf(deposits)
+                .compareTo(bankAccountRepository.findById(accountNumber)
+                        .orElseThrow()
+                        .getBalance()));
+    }
+
+    private MockHttpServletRequestBuilder postTransaction(final String amount,
+            final TransactionType type) throws Exception {
+        return post("/v1/accounts/" + accountNumber + "/transactions")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionRequestDto(new BigDecimal(amount), CURRENCY,
+                        type, "group commit")));
+    }
+}
@@ -0,0 +1,259 @@
+package com.eaglebank;
+
+import static com.eaglebank.testutils.ApiTestCommons.createBankAccount;
+import static com.eaglebank.testutils.ApiTestCommons.createNewAccountAndGetToken;
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static com.eaglebank.testutils.UserTestCommons.EMAIL;
+import static com.eaglebank.testutils.UserTestCommons.NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.dto.AccountType;
+import com.eaglebank.dto.CreateJournalEntryRequestDto;
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.JournalLegDto;
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.User;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+public class JournalITests extends BaseIntegrationTest {
+
+    private static final String CURRENCY = "GBP";
+
+    private String token;
+    private String employer;
+
+    @BeforeEach
+    void setup() throws Exception {
+        this.token = createNewAccountAndGetToken(mockMvc, NAME, EMAIL);
+        this.employer = createBankAccount(mockMvc, "Payroll", token).accountNumber();
+        deposit(employer, "10000.00");
+    }
+
+    @Test
+    void createJournalEntry_payrollFanOut_shouldPostEveryLeg() throws Exception {
+        final String otherToken = createNewAccountAndGetToken(mockMvc,
+                "Employee", "employee@eaglebank.com");
+        final String employeeA = createBankAccount(mockMvc, "Salary", otherToken).accountNumber();
+        final String employeeB = createBankAccount(mockMvc, "Salary", otherToken).accountNumber();
+
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Payroll",
+                                List.of(leg(employer, "-3000.00"), leg(employeeA, "1000.00"),
+                                        leg(employeeB, "2000.00"))))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.legs").value(3))
+                .andExpect(jsonPath("$.amount").value(3000.00));
+
+        assertBalance(employer, "7000.00");
+        assertBalance(employeeA, "1000.00");
+        assertBalance(employeeB, "2000.00");
+        assertEquals(4, transactionRepository.count());
+    }
+
+    @Test
+    void createJournalEntry_legsAcrossSeveralChunks_shouldPostEveryLeg() throws Exception {
+        final User owner = userRepository.findAll()
+                .getFirst();
+        final List<JournalLegDto> legs = new ArrayList<>();
+        final List<BankAccount> employees = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            employees.add(buildAccount(String.format("019%05d", i), owner));
+            legs.add(leg(employees.getLast()
+                    .getAccountNumber(), "1.50"));
+        }
+        bankAccountRepository.saveAll(employees);
+        legs.add(leg(employer, "-1800.00"));
+
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Payroll",
+                                legs))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.legs").value(1201));
+
+        assertBalance(employer, "8200.00");
+        assertBalance("01901199", "1.50");
+        assertEquals(1202, transactionRepository.count());
+    }
+
+    @Test
+    void createJournalEntry_failingLastLeg_shouldRollBackEveryLeg() throws Exception {
+        final User owner = userRepository.findAll()
+                .getFirst();
+        final List<JournalLegDto> legs = new ArrayList<>();
+        final List<BankAccount> employees = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            employees.add(buildAccount(String.format("019%05d", i), owner));
+            legs.add(leg(employees.getLast()
+                    .getAccountNumber(), "1.00"));
+        }
+        bankAccountRepository.saveAll(employees);
+        // Sorted last, so every earlier chunk has already been flushed when it fails
+        legs.add(leg("01999999", "-600.00"));
+        bankAccountRepository.save(buildAccount("01999999", owner));
+
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Payroll",
+                                legs))))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertBalance("01900000", "0.00");
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void createJournalEntry_unbalancedLegs_shouldReturnBadRequest() throws Exception {
+        final String savings = createBankAccount(mockMvc, "Savings", token).accountNumber();
+
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Payroll",
+                                List.of(leg(employer, "-10.00"), leg(savings, "9.99"))))))
+                .andExpect(status().isBadRequest());
+
+        assertBalance(employer, "10000.00");
+    }
+
+    @Test
+    void createJournalEntry_creditOnUnknownAccount_shouldNotRevealAccount() throws Exception {
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Invoice 43",
+                                List.of(leg(employer, "-10.00"), leg("01999999", "10.00"))))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("A credit leg cannot be posted to its account"));
+
+        assertBalance(employer, "10000.00");
+    }
+
+    @Test
+    void createJournalEntry_debitOnAnotherUsersAccount_shouldReturnForbidden() throws Exception {
+        final String otherToken = createNewAccountAndGetToken(mockMvc,
+                "Employee", "employee@eaglebank.com");
+        final String other = createBankAccount(mockMvc, "Salary", otherToken).accountNumber();
+        deposit(other, "100.00", otherToken);
+
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Refund",
+                                List.of(leg(other, "-100.00"), leg(employer, "100.00"))))))
+                .andExpect(status().isForbidden());
+
+        assertBalance(other, "100.00");
+    }
+
+    @Test
+    void createJournalEntry_creditOnAnotherUsersAccount_shouldPostWithoutGrantingAccess()
+            throws Exception {
+        final String otherToken = createNewAccountAndGetToken(mockMvc,
+                "Payee", "payee@eaglebank.com");
+        final String payee = createBankAccount(mockMvc, "Current", otherToken).accountNumber();
+
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Invoice 42",
+                                List.of(leg(employer, "-250.00"), leg(payee, "250.00"))))))
+                .andExpect(status().isCreated());
+
+        assertBalance(payee, "250.00");
+        mockMvc.perform(get("/v1/accounts/" + payee)
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(250.00));
+        // Crediting an account does not let the payer read it
+        mockMvc.perform(get("/v1/accounts/" + payee)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void createJournalEntry_legAboveLimit_shouldReturnBadRequest() throws Exception {
+        deposit(employer, "5000.00");
+        final String savings = createBankAccount(mockMvc, "Savings", token).accountNumber();
+
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Sweep",
+                                List.of(leg(employer, "-10000.01"), leg(savings, "10000.01"))))))
+                .andExpect(status().isBadRequest());
+
+        assertBalance(employer, "15000.00");
+    }
+
+    @Test
+    void createJournalEntry_tooManyLegs_shouldReturnBadRequest() throws Exception {
+        final List<JournalLegDto> legs = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            legs.add(leg(String.format("019%05d", i), "1.00"));
+        }
+        legs.add(leg(employer, "-2500.00"));
+
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateJournalEntryRequestDto(CURRENCY, "Payroll",
+                                legs))))
+                .andExpect(status().isBadRequest());
+
+        assertBalance(employer, "10000.00");
+    }
+
+    private void assertBalance(final String accountNumber, final String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(bankAccountRepository.findById(
+                        accountNumber)
+                .orElseThrow()
+                .getBalance()));
+    }
+
+    private static JournalLegDto leg(final String accountNumber, final String amount) {
+        return new JournalLegDto(accountNumber, new BigDecimal(amount), null);
+    }
+
+    private static BankAccount buildAccount(final String accountNumber, final User owner) {
+        final BankAccount bankAccount = new BankAccount("Salary", AccountType.PERSONAL);
+        bankAccount.setAccountNumber(accountNumber);
+        bankAccount.setSortCode("10-10-10");
+        bankAccount.setBalance(BigDecimal.ZERO);
+        bankAccount.setCurrency(CURRENCY);
+        bankAccount.setUser(owner);
+        bankAccount.setCreatedTimestamp(OffsetDateTime.now());
+        bankAccount.setUpdatedTimestamp(OffsetDateTime.now());
+        return bankAccount;
+    }
+
+    private void deposit(final String accountNumber, final String amount) throws Exception {
+        deposit(accountNumber, amount, token);
+    }
+
+    private void deposit(final String accountNumber, final String amount, final String userToken)
+            throws Exception {
+        mockMvc.perform(post("/v1/accounts/" + accountNumber + "/transactions")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateTransactionRequestDto(new BigDecimal(amount),
+                                CURRENCY, TransactionType.DEPOSIT, "Funding"))))
+                .andExpect(status().isCreated());
+    }
+}
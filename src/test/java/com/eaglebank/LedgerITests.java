@@ -0,0 +1,119 @@
+package com.eaglebank;
+
+import static com.eaglebank.testutils.ApiTestCommons.createBankAccount;
+import static com.eaglebank.testutils.ApiTestCommons.createNewAccountAndGetToken;
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static com.eaglebank.testutils.UserTestCommons.EMAIL;
+import static com.eaglebank.testutils.UserTestCommons.NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.dto.CreateJournalEntryRequestDto;
+import com.eaglebank.dto.CreateTransactionBatchRequestDto;
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.CreateTransferRequestDto;
+import com.eaglebank.dto.JournalLegDto;
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.LedgerEntry;
+import com.eaglebank.service.LedgerService;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+public class LedgerITests extends BaseIntegrationTest {
+
+    private static final String CURRENCY = "GBP";
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    private String token;
+    private String current;
+    private String savings;
+
+    @BeforeEach
+    void setup() throws Exception {
+        this.token = createNewAccountAndGetToken(mockMvc, NAME, EMAIL);
+        this.current = createBankAccount(mockMvc, "Current", token)
+                .accountNumber();
+        this.savings = createBankAccount(mockMvc, "Savings", token)
+                .accountNumber();
+    }
+
+    @Test
+    void everyPostingPath_shouldKeepBalancesEqualToLedger() throws Exception {
+        postTransaction(current, new CreateTransactionRequestDto(new BigDecimal("100.00"),
+                CURRENCY, TransactionType.DEPOSIT, "Salary"));
+        postTransaction(current, new CreateTransactionRequestDto(new BigDecimal("15.00"),
+                CURRENCY, TransactionType.WITHDRAWAL, "Cash"));
+        perform("/v1/accounts/" + current + "/transactions:batch",
+                new CreateTransactionBatchRequestDto(List.of(
+                        new CreateTransactionRequestDto(new BigDecimal("5.00"), CURRENCY,
+                                TransactionType.DEPOSIT, "Refund"),
+                        new CreateTransactionRequestDto(new BigDecimal("10.00"), CURRENCY,
+                                TransactionType.WITHDRAWAL, "Shop"))));
+        perform("/v1/accounts/" + current + "/transfers",
+                new CreateTransferRequestDto(savings, new BigDecimal("30.00"), CURRENCY,
+                        "Saving"));
+        perform("/v1/journal-entries", new CreateJournalEntryRequestDto(CURRENCY, "Split",
+                List.of(new JournalLegDto(savings, new BigDecimal("-10.00"), null),
+                        new JournalLegDto(current, new BigDecimal("10.00"), null))));
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(
+                ledgerEntryRepository.sumByAccountNumber(current)));
+        assertEquals(0, new BigDecimal("20.00").compareTo(
+                ledgerEntryRepository.sumByAccountNumber(savings)));
+        assertEquals(0, new BigDecimal("-80.00").compareTo(
+                ledgerEntryRepository.sumByAccountNumber("EXTERNAL:" + CURRENCY)));
+        assertEquals(0, ledgerEntryRepository.findAll()
+                .stream()
+                .map(LedgerEntry::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .signum());
+        assertEquals(5, ledgerJournalRepository.count());
+        assertTrue(ledgerService.verify()
+                .isConsistent());
+    }
+
+    @Test
+    void verify_balanceChangedOutsideLedger_shouldReportAndRebuildIt() throws Exception {
+        postTransaction(current, new CreateTransactionRequestDto(new BigDecimal("100.00"),
+                CURRENCY, TransactionType.DEPOSIT, "Salary"));
+        final BankAccount account = bankAccountRepository.findById(current)
+                .orElseThrow();
+        account.setBalance(new BigDecimal("1000000.00"));
+        bankAccountRepository.save(account);
+
+        final LedgerService.Verification verification = ledgerService.verify();
+
+        assertEquals(List.of(current), verification.mismatchedAccounts());
+        assertTrue(verification.unbalancedJournals()
+                .isEmpty());
+        assertEquals(0, new BigDecimal("100.00").compareTo(
+                ledgerService.rebuildBalance(current)));
+        assertTrue(ledgerService.verify()
+                .isConsistent());
+    }
+
+    private void postTransaction(final String accountNumber,
+            final CreateTransactionRequestDto dto) throws Exception {
+        perform("/v1/accounts/" + accountNumber + "/transactions", dto);
+    }
+
+    private void perform(final String path, final Object body) throws Exception {
+        final int status = mockMvc.perform(post(path)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(body)))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+        assertTrue(status == 200 || status == 201, path + " returned " + status);
+    }
+}
@@ -0,0 +1,17 @@
+package com.eaglebank;
+
+import java.util.Set;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "eaglebank.transactions.posting-mode=OPTIMISTIC")
+class OptimisticPostingITests extends BaseConcurrentPostingTest {
+
+    /**
+     * Eight clients on one row exhaust some postings' retries; those are answered with 409 and
+     * must leave no trace.
+     */
+    @Override
+    protected Set<Integer> allowedRejections() {
+        return Set.of(409);
+    }
+}
@@ -1,28 +1,37 @@
 package com.eaglebank;
 
+import static com.eaglebank.testutils.ApiTestCommons.createBankAccount;
+import static com.eaglebank.testutils.ApiTestCommons.createNewAccountAndGetToken;
 import static com.eaglebank.testutils.TestCommons.toJson;
 import static com.eaglebank.testutils.UserTestCommons.EMAIL;
 import static com.eaglebank.testutils.UserTestCommons.NAME;
-import static com.eaglebank.testutils.UserTestCommons.PASSWORD;
-import static com.eaglebank.testutils.UserTestCommons.buildUserRequestDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import com.eaglebank.dto.AccountType;
-import com.eaglebank.dto.AuthRequestDto;
-import com.eaglebank.dto.AuthResponseDto;
 import com.eaglebank.dto.BankAccountResponseDto;
-import com.eaglebank.dto.CreateBankAccountRequestDto;
+import com.eaglebank.dto.CreateTransactionBatchRequestDto;
 import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.CreateTransferRequestDto;
 import com.eaglebank.dto.TransactionResponseDto;
 import com.eaglebank.dto.TransactionType;
 import com.eaglebank.dto.UserResponseDto;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 public class TransactionITests extends BaseIntegrationTest {
 
@@ -36,8 +45,8 @@ public class TransactionITests extends BaseIntegrationTest {
 
     @BeforeEach
     void setup() throws Exception {
-        this.token = createNewAccountAndGetToken(NAME, EMAIL);
-        this.bankAccount = createBankAccount("Personal bank account", token);
+        this.token = createNewAccountAndGetToken(mockMvc, NAME, EMAIL);
+        this.bankAccount = createBankAccount(mockMvc, "Personal bank account", token);
         createTransaction();
     }
 
@@ -101,7 +110,7 @@ public class TransactionITests extends BaseIntegrationTest {
                 TransactionType.DEPOSIT.name(), CURRENCY);
         final String otherUser = "usr-other";
         final String otherEmail = "other@email.com";
-        final var otherToken = createNewAccountAndGetToken(otherUser, otherEmail);
+        final var otherToken = createNewAccountAndGetToken(mockMvc, otherUser, otherEmail);
 
         mockMvc.perform(post("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
                         .header("Authorization", "Bearer " + otherToken)
@@ -110,27 +119,356 @@ public class TransactionITests extends BaseIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void createTransaction_repeatedIdempotencyKey_shouldReplayOriginal() throws Exception {
+        final MockHttpServletRequestBuilder deposit = post(
+                "/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(buildTransactionRequest("25.00", TransactionType.DEPOSIT.name(),
+                        CURRENCY)));
+
+        final String first = mockMvc.perform(deposit)
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        final String replayed = mockMvc.perform(deposit)
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.readValue(first, TransactionResponseDto.class),
+                objectMapper.readValue(replayed, TransactionResponseDto.class));
+        assertEquals(2, transactionRepository.count());
+        assertEquals(0, new BigDecimal("125.00").compareTo(bankAccountRepository.findById(
+                        this.bankAccount.accountNumber())
+                .orElseThrow()
+                .getBalance()));
+    }
+
+    @Test
+    void createTransaction_idempotencyKeyWithDifferentBody_shouldReturnUnprocessableEntity()
+            throws Exception {
+        mockMvc.perform(post("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildTransactionRequest("25.00",
+                                TransactionType.DEPOSIT.name(), CURRENCY))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildTransactionRequest("30.00",
+                                TransactionType.DEPOSIT.name(), CURRENCY))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createTransaction_concurrentRetriesWithSameKey_shouldPostOnce() throws Exception {
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<String>> results = new ArrayList<>();
+        final MockHttpServletRequestBuilder deposit = post(
+                "/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "storm")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(buildTransactionRequest("1.00", TransactionType.DEPOSIT.name(),
+                        CURRENCY)));
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return objectMapper.readValue(mockMvc.perform(deposit)
+                            .andExpect(status().isCreated())
+                            .andReturn()
+                            .getResponse()
+                            .getContentAsString(), TransactionResponseDto.class).id();
+                }));
+            }
+            start.countDown();
+
+            final String id = results.get(0)
+                    .get();
+            for (Future<String> result : results) {
+                assertEquals(id, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, transactionRepository.count());
+        assertEquals(0, new BigDecimal("101.00").compareTo(bankAccountRepository.findById(
+                        this.bankAccount.accountNumber())
+                .orElseThrow()
+                .getBalance()));
+    }
+
+    @Test
+    void createTransaction_idempotencyKeyTooLong_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Idempotency-Key", "k".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildTransactionRequest("25.00",
+                                TransactionType.DEPOSIT.name(), CURRENCY))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTransactions_validBatch_shouldReturnItemResults() throws Exception {
+        final CreateTransactionBatchRequestDto request = new CreateTransactionBatchRequestDto(
+                List.of(buildTransactionRequest("40.00", TransactionType.WITHDRAWAL.name(),
+                                CURRENCY),
+                        buildTransactionRequest("80.00", TransactionType.WITHDRAWAL.name(),
+                                CURRENCY),
+                        buildTransactionRequest("10.00", TransactionType.DEPOSIT.name(),
+                                CURRENCY)));
+
+        mockMvc.perform(
+                        post("/v1/accounts/" + this.bankAccount.accountNumber()
+                             + "/transactions:batch")
+                                .header("Authorization", "Bearer " + token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(toJson(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("created"))
+                .andExpect(jsonPath("$.results[1].status").value("rejected"))
+                .andExpect(jsonPath("$.results[1].error").value("Insufficient funds"))
+                .andExpect(jsonPath("$.results[2].transaction.amount").value(10.00));
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(bankAccountRepository.findById(
+                        this.bankAccount.accountNumber())
+                .orElseThrow()
+                .getBalance()));
+    }
+
+    @Test
+    void createTransactions_emptyBatch_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(
+                        post("/v1/accounts/" + this.bankAccount.accountNumber()
+                             + "/transactions:batch")
+                                .header("Authorization", "Bearer " + token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(toJson(new CreateTransactionBatchRequestDto(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTransfer_validTransfer_shouldMoveFunds() throws Exception {
+        final BankAccountResponseDto target = createBankAccount(mockMvc, "Savings", token);
+
+        mockMvc.perform(post("/v1/accounts/" + this.bankAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateTransferRequestDto(target.accountNumber(),
+                                new BigDecimal("40.00"), CURRENCY, "Savings"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.debit.type").value("withdrawal"))
+                .andExpect(jsonPath("$.credit.type").value("deposit"))
+                .andExpect(jsonPath("$.credit.amount").value(40.00));
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(bankAccountRepository.findById(
+                        this.bankAccount.accountNumber())
+                .orElseThrow()
+                .getBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(bankAccountRepository.findById(
+                        target.accountNumber())
+                .orElseThrow()
+                .getBalance()));
+    }
+
+    @Test
+    void createTransfer_insufficientFunds_shouldReturnUnprocessableEntity() throws Exception {
+        final BankAccountResponseDto target = createBankAccount(mockMvc, "Savings", token);
+
+        mockMvc.perform(post("/v1/accounts/" + this.bankAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateTransferRequestDto(target.accountNumber(),
+                                new BigDecimal("100.01"), CURRENCY, "Savings"))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createTransfer_anotherUsersAccount_shouldReturnForbidden() throws Exception {
+        final String otherToken = createNewAccountAndGetToken(mockMvc,
+                "Other", "other@eaglebank.com");
+        final BankAccountResponseDto target = createBankAccount(mockMvc,
+                "Other account", otherToken);
+
+        mockMvc.perform(post("/v1/accounts/" + this.bankAccount.accountNumber() + "/transfers")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateTransferRequestDto(target.accountNumber(),
+                                BigDecimal.ONE, CURRENCY, "Other"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void createTransfer_concurrentOppositeDirections_shouldNotDeadlock() throws Exception {
+        final BankAccountResponseDto other = createBankAccount(mockMvc, "Savings", token);
+        mockMvc.perform(post("/v1/accounts/" + other.accountNumber() + "/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildTransactionRequest("100.00",
+                                TransactionType.DEPOSIT.name(), CURRENCY))))
+                .andExpect(status().isCreated());
+        final int threads = 8;
+        final int transfersPerThread = 25;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                final String from = i % 2 == 0 ? this.bankAccount.accountNumber()
+                        : other.accountNumber();
+                final String to = i % 2 == 0 ? other.accountNumber()
+                        : this.bankAccount.accountNumber();
+                final MockHttpServletRequestBuilder transfer = post(
+                        "/v1/accounts/" + from + "/transfers")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateTransferRequestDto(to, BigDecimal.ONE,
+                                CURRENCY, "Ping-pong")));
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int created = 0;
+                    for (int j = 0; j < transfersPerThread; j++) {
+                        if (mockMvc.perform(transfer)
+                                    .andReturn()
+                                    .getResponse()
+                                    .getStatus() == 201) {
+                            created++;
+                        }
+                    }
+                    return created;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(transfersPerThread, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Equal traffic both ways leaves both balances where they started
+        assertEquals(0, new BigDecimal("100.00").compareTo(bankAccountRepository.findById(
+                        this.bankAccount.accountNumber())
+                .orElseThrow()
+                .getBalance()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(bankAccountRepository.findById(
+                        other.accountNumber())
+                .orElseThrow()
+                .getBalance()));
+        assertEquals(2 + 2L * threads * transfersPerThread, transactionRepository.count());
+    }
+
     @Test
     void getTransactions_allCorrect_shouldReturnTransactionList() throws Exception {
         mockMvc.perform(get("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[*]").isArray())
-                .andExpect(jsonPath("$[*].id").value(transaction.id()))
-                .andExpect(jsonPath("$[*].amount").exists());
+                .andExpect(jsonPath("$.transactions[*]").isArray())
+                .andExpect(jsonPath("$.transactions[*].id").value(transaction.id()))
+                .andExpect(jsonPath("$.transactions[*].amount").exists())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getTransactions_withLimit_shouldPageThroughHistory() throws Exception {
+        createTransaction();
+        createTransaction();
+
+        final var firstPage = mockMvc.perform(
+                        get("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
+                                .param("limit", "2")
+                                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+        final String nextCursor = objectMapper.readTree(firstPage.getResponse()
+                        .getContentAsString())
+                .get("nextCursor")
+                .asText();
+
+        mockMvc.perform(get("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
+                        .param("limit", "2")
+                        .param("cursor", nextCursor)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions.length()").value(1))
+                .andExpect(jsonPath("$.transactions[0].id").value(transaction.id()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getTransactions_invalidCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     void getTransactions_anotherBankAccount_shouldReturnForbidden() throws Exception {
         final String otherUser = "usr-other";
         final String otherEmail = "other@email.com";
-        final var otherToken = createNewAccountAndGetToken(otherUser, otherEmail);
+        final var otherToken = createNewAccountAndGetToken(mockMvc, otherUser, otherEmail);
 
         mockMvc.perform(get("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions")
                         .header("Authorization", "Bearer " + otherToken))
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void exportTransactions_allCorrect_shouldStreamNdjson() throws Exception {
+        createTransaction();
+
+        final var started = mockMvc.perform(
+                        get("/v1/accounts/" + this.bankAccount.accountNumber()
+                            + "/transactions:export")
+                                .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(transaction.id(), objectMapper.readValue(lines[1],
+                TransactionResponseDto.class).id());
+    }
+
+    @Test
+    void exportTransactions_anotherBankAccount_shouldReturnForbidden() throws Exception {
+        final var otherToken = createNewAccountAndGetToken(mockMvc, "usr-other", "other@email.com");
+
+        mockMvc.perform(get("/v1/accounts/" + this.bankAccount.accountNumber()
+                            + "/transactions:export")
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void getTransaction_allCorrect_shouldReturnTransaction() throws Exception {
         mockMvc.perform(get("/v1/accounts/" + this.bankAccount.accountNumber() + "/transactions/" +
@@ -145,9 +483,9 @@ public class TransactionITests extends BaseIntegrationTest {
     void getTransaction_anotherBankAccount_shouldReturnForbidden() throws Exception {
         final String otherUser = "usr-other";
         final String otherEmail = "other@email.com";
-        final var otherToken = createNewAccountAndGetToken(otherUser, otherEmail);
+        final var otherToken = createNewAccountAndGetToken(mockMvc, otherUser, otherEmail);
 
-        final var bankAccountResponse = createBankAccount(otherUser, otherToken);
+        final var bankAccountResponse = createBankAccount(mockMvc, otherUser, otherToken);
 
         mockMvc.perform(
                         get("/v1/accounts/" + bankAccountResponse.accountNumber() + "/transactions/" +
@@ -167,9 +505,9 @@ public class TransactionITests extends BaseIntegrationTest {
     void getTransaction_transactionNotBelongToAccount_shouldReturnNotFound() throws Exception {
         final String otherUser = "usr-other";
         final String otherEmail = "other@email.com";
-        final var otherToken = createNewAccountAndGetToken(otherUser, otherEmail);
+        final var otherToken = createNewAccountAndGetToken(mockMvc, otherUser, otherEmail);
 
-        final var bankAccountResponse = createBankAccount(otherUser, otherToken);
+        final var bankAccountResponse = createBankAccount(mockMvc, otherUser, otherToken);
 
         final CreateTransactionRequestDto request = buildTransactionRequest("100.00",
                 TransactionType.DEPOSIT.name(), CURRENCY);
@@ -189,40 +527,6 @@ public class TransactionITests extends BaseIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
-    private String createNewAccountAndGetToken(final String user, final String email)
-            throws Exception {
-        mockMvc.perform(post("/v1/users")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(toJson(buildUserRequestDto(user, email, PASSWORD))))
-                .andExpect(status().isCreated())
-                .andReturn();
-
-        final var authTokenResponse = mockMvc.perform(post("/v1/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(toJson(new AuthRequestDto(email, PASSWORD))))
-                .andExpect(status().isOk())
-                .andReturn();
-
-        return objectMapper.readValue(
-                        authTokenResponse.getResponse()
-                                .getContentAsString(), AuthResponseDto.class
-                )
-                .token();
-    }
-
-    private BankAccountResponseDto createBankAccount(final String name, final String userToken)
-            throws Exception {
-        final var response = mockMvc.perform(post("/v1/accounts")
-                        .header("Authorization", "Bearer " + userToken)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(toJson(new CreateBankAccountRequestDto(name, AccountType.PERSONAL))))
-                .andExpect(status().isCreated())
-                .andReturn();
-
-        return objectMapper.readValue(response.getResponse()
-                .getContentAsString(), BankAccountResponseDto.class);
-    }
-
     private void createTransaction() throws Exception {
         final CreateTransactionRequestDto request = buildTransactionRequest("100.00",
                 TransactionType.DEPOSIT.name(), CURRENCY);
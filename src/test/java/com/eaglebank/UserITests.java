@@ -14,6 +14,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -185,6 +186,28 @@ class UserITests extends BaseIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createUser_withExistingEmailInDifferentCase_shouldReturnBadRequestAndLoginIgnoresCase()
+            throws Exception {
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUserRequestDto())))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUserRequestDto(NAME,
+                                EMAIL.toUpperCase(), PASSWORD))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Email is already in use"));
+
+        mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new AuthRequestDto(EMAIL.toUpperCase(), PASSWORD))))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void createUser_withMissingData_shouldReturnBadRequest() throws Exception {
         final CreateUserRequestDto userRequestDto = new CreateUserRequestDto(null, ADDRESS_DTO,
@@ -0,0 +1,51 @@
+package com.eaglebank;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.eaglebank.config.VirtualThreadPinningMonitor;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsITests extends BaseIntegrationTest {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Test
+    void applicationTaskExecutor_virtualThreadsProfile_shouldRunOnVirtualThreads() throws Exception {
+        assertTrue(applicationTaskExecutor.submit(() -> Thread.currentThread()
+                        .isVirtual())
+                .get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void taskScheduler_virtualThreadsProfile_shouldRunOnVirtualThreads() throws Exception {
+        final CompletableFuture<Boolean> isVirtual = new CompletableFuture<>();
+
+        taskScheduler.schedule(() -> isVirtual.complete(Thread.currentThread()
+                .isVirtual()), Instant.now());
+
+        assertTrue(isVirtual.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void pinningMonitor_virtualThreadsProfile_shouldBeRegistered() {
+        assertNotNull(pinningMonitor);
+    }
+}
@@ -0,0 +1,109 @@
+package com.eaglebank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.eaglebank.model.LedgerEntry;
+import com.eaglebank.model.LedgerJournal;
+import com.eaglebank.service.BalanceCheckpointService;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Measures balance-as-of lookups on an account with {@value #DAYS} days of history, first summing
+ * the whole history and then from daily checkpoints. SQL logging is off so that it does not
+ * dominate either figure. Excluded from the default build; run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=BalanceAsOfBenchmarkTests}.
+ */
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=OFF",
+        "logging.level.org.hibernate.orm.jdbc.bind=OFF"
+})
+class BalanceAsOfBenchmarkTests extends BaseMockMvcBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceAsOfBenchmarkTests.class);
+    private static final int DAYS = 100;
+    private static final int ENTRIES_PER_DAY = 500;
+    private static final int LOOKUPS = 500;
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0,
+            ZoneOffset.UTC);
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    private String userId;
+    private String accountNumber;
+
+    @BeforeEach
+    void setup() throws Exception {
+        userId = userRepository.findAll()
+                .getFirst()
+                .getId();
+        accountNumber = createAccount("Benchmark");
+
+        // History is written straight to the ledger; posting it through the API is not measured
+        final LedgerJournal journal = ledgerJournalRepository.save(
+                new LedgerJournal("benchmark", "history", START));
+        for (int day = 0; day < DAYS; day++) {
+            final List<LedgerEntry> entries = new ArrayList<>(ENTRIES_PER_DAY);
+            for (int i = 0; i < ENTRIES_PER_DAY; i++) {
+                entries.add(new LedgerEntry("e-" + day + "-" + i, journal, accountNumber,
+                        BigDecimal.ONE, "GBP", START.plusDays(day)
+                        .plusSeconds(i * 60L)));
+            }
+            ledgerEntryRepository.saveAll(entries);
+        }
+    }
+
+    @Test
+    void wholeHistoryVersusCheckpoints() {
+        final List<OffsetDateTime> lookups = new ArrayList<>(LOOKUPS);
+        final Random random = new Random(42);
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups.add(START.plusMinutes(random.nextInt(DAYS * 24 * 60)));
+        }
+
+        final BigDecimal[] expected = new BigDecimal[LOOKUPS];
+        lookup(lookups, expected);
+        final long wholeHistoryNanos = lookup(lookups, expected);
+
+        for (int day = 1; day <= DAYS; day++) {
+            balanceCheckpointService.writeCheckpoints(START.plusDays(day));
+        }
+        final long checkpointedNanos = lookup(lookups, expected);
+
+        log.info("{} lookups over {} entries: whole history {} µs/lookup, checkpointed {} µs/lookup",
+                LOOKUPS, DAYS * ENTRIES_PER_DAY, wholeHistoryNanos / LOOKUPS / 1000,
+                checkpointedNanos / LOOKUPS / 1000);
+    }
+
+    /**
+     * Runs every lookup; the first call fills {@code expected}, later calls must agree with it.
+     */
+    private long lookup(final List<OffsetDateTime> lookups, final BigDecimal[] expected) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < lookups.size(); i++) {
+            final BigDecimal balance = balanceCheckpointService.getBalance(accountNumber, userId,
+                            lookups.get(i))
+                    .balance();
+            if (expected[i] == null) {
+                expected[i] = balance;
+            } else {
+                assertEquals(0, expected[i].compareTo(balance));
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,32 @@
+package com.eaglebank.benchmark;
+
+import static com.eaglebank.testutils.ApiTestCommons.createBankAccount;
+import static com.eaglebank.testutils.ApiTestCommons.createNewAccountAndGetToken;
+import static com.eaglebank.testutils.UserTestCommons.EMAIL;
+import static com.eaglebank.testutils.UserTestCommons.NAME;
+
+import com.eaglebank.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+
+/**
+ * The sign-up, login and account set-up that benchmarks measuring the API through MockMvc start
+ * with, as {@link BenchmarkApp} does for those measuring it over real connections.
+ */
+@Tag("benchmark")
+abstract class BaseMockMvcBenchmarkTest extends BaseIntegrationTest {
+
+    protected String token;
+
+    /**
+     * Runs after the database is cleared and before the benchmark's own set-up.
+     */
+    @BeforeEach
+    void signUpAndLogIn() throws Exception {
+        token = createNewAccountAndGetToken(mockMvc, NAME, EMAIL);
+    }
+
+    protected String createAccount(final String name) throws Exception {
+        return createBankAccount(mockMvc, name, token).accountNumber();
+    }
+}
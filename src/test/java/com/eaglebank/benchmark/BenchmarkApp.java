@@ -0,0 +1,116 @@
+package com.eaglebank.benchmark;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static com.eaglebank.testutils.UserTestCommons.EMAIL;
+import static com.eaglebank.testutils.UserTestCommons.NAME;
+import static com.eaglebank.testutils.UserTestCommons.PASSWORD;
+import static com.eaglebank.testutils.UserTestCommons.buildUserRequestDto;
+
+import com.eaglebank.EaglebankApplication;
+import com.eaglebank.dto.AccountType;
+import com.eaglebank.dto.AuthRequestDto;
+import com.eaglebank.dto.AuthResponseDto;
+import com.eaglebank.dto.BankAccountResponseDto;
+import com.eaglebank.dto.CreateBankAccountRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application started on a random port, with an HTTP/1.1 client and the sign-up, login and
+ * account set-up that benchmarks measuring it over real connections start with.
+ */
+final class BenchmarkApp implements AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private final ConfigurableApplicationContext context;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    private BenchmarkApp(final ConfigurableApplicationContext context) {
+        this.context = context;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer()
+                .getPort();
+    }
+
+    /**
+     * Starts the application with {@code profile}, or none when it is null, and {@code args} on
+     * top of a random port.
+     */
+    static BenchmarkApp start(final String profile, final String... args) {
+        final SpringApplicationBuilder builder = new SpringApplicationBuilder(
+                EaglebankApplication.class);
+        if (profile != null) {
+            builder.profiles(profile);
+        }
+
+        final List<String> allArgs = new ArrayList<>(List.of("--server.port=0"));
+        allArgs.addAll(List.of(args));
+        return new BenchmarkApp(builder.run(allArgs.toArray(String[]::new)));
+    }
+
+    /**
+     * Starts and stops one context, so that class loading in a fresh JVM stays out of the
+     * measurements that follow.
+     */
+    static void warmUp() {
+        start(null, "--spring.datasource.url=jdbc:h2:mem:warm-up").close();
+    }
+
+    HttpClient httpClient() {
+        return httpClient;
+    }
+
+    String url(final String path) {
+        return baseUrl + path;
+    }
+
+    /**
+     * Signs up the test user and returns a token for it.
+     */
+    String signUpAndLogIn() throws Exception {
+        send(postJson("/v1/users", null, toJson(buildUserRequestDto(NAME, EMAIL, PASSWORD))));
+
+        return OBJECT_MAPPER.readValue(send(postJson("/v1/auth/login", null,
+                        toJson(new AuthRequestDto(EMAIL, PASSWORD)))).body(),
+                AuthResponseDto.class).token();
+    }
+
+    String createAccount(final String token) throws Exception {
+        return OBJECT_MAPPER.readValue(send(postJson("/v1/accounts", token,
+                        toJson(new CreateBankAccountRequestDto("Benchmark",
+                                AccountType.PERSONAL)))).body(),
+                BankAccountResponseDto.class).accountNumber();
+    }
+
+    HttpRequest postJson(final String path, final String token, final String body) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url(path)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    HttpResponse<String> send(final HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+        context.close();
+    }
+}
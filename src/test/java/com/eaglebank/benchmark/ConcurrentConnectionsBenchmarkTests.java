@@ -0,0 +1,84 @@
+package com.eaglebank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts the application on a real port, once on Tomcat's platform-thread pool and once in the
+ * {@code virtual-threads} profile, and measures authenticated account reads over 5k concurrent
+ * connections. Excluded from the default build; run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ConcurrentConnectionsBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(
+            ConcurrentConnectionsBenchmarkTests.class);
+    private static final int CONNECTIONS = 5_000;
+    private static final int REQUESTS_PER_CONNECTION = 4;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void accountReadsAt5kConnections(final boolean virtualThreads) throws Exception {
+        // Client requests are asynchronous so the client adds no virtual threads of its own to the
+        // carrier pool being measured
+        try (BenchmarkApp app = start(virtualThreads)) {
+            final String token = app.signUpAndLogIn();
+            final String accountNumber = app.createAccount(token);
+            final HttpRequest read = HttpRequest.newBuilder(
+                            URI.create(app.url("/v1/accounts/" + accountNumber)))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofMinutes(2))
+                    .GET()
+                    .build();
+
+            final long start = System.nanoTime();
+            final List<CompletableFuture<Integer>> connections = new ArrayList<>(CONNECTIONS);
+            for (int c = 0; c < CONNECTIONS; c++) {
+                connections.add(readRepeatedly(app.httpClient(), read,
+                        REQUESTS_PER_CONNECTION));
+            }
+            int succeeded = 0;
+            for (CompletableFuture<Integer> connection : connections) {
+                succeeded += connection.get();
+            }
+            final long nanos = System.nanoTime() - start;
+
+            log.info("{} threads: {} requests over {} connections, {} ok, {} requests/s",
+                    virtualThreads ? "virtual" : "platform", CONNECTIONS * REQUESTS_PER_CONNECTION,
+                    CONNECTIONS, succeeded,
+                    succeeded * 1_000_000_000L / Math.max(nanos, 1));
+            assertEquals(CONNECTIONS * REQUESTS_PER_CONNECTION, succeeded);
+        }
+    }
+
+    private static CompletableFuture<Integer> readRepeatedly(final HttpClient httpClient,
+            final HttpRequest read, final int remaining) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(0);
+        }
+        return httpClient.sendAsync(read, HttpResponse.BodyHandlers.discarding())
+                .thenCompose(response -> readRepeatedly(httpClient, read, remaining - 1)
+                        .thenApply(ok -> response.statusCode() == 200 ? ok + 1 : ok));
+    }
+
+    private static BenchmarkApp start(final boolean virtualThreads) {
+        return BenchmarkApp.start(virtualThreads ? "virtual-threads" : null,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql=WARN");
+    }
+}
@@ -0,0 +1,92 @@
+package com.eaglebank.benchmark;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.TransactionType;
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares startup time and posting throughput of the default configuration (in-memory H2, SQL
+ * logging on) with the {@code prod} profile (file-backed H2, tuned pool, SQL logging off).
+ * Excluded from the default build; run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=DatasourceProfileBenchmarkTests}.
+ */
+@Tag("benchmark")
+class DatasourceProfileBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(
+            DatasourceProfileBenchmarkTests.class);
+    private static final int CLIENTS = 4;
+    private static final int POSTINGS_PER_CLIENT = 250;
+
+    @TempDir
+    private Path dataDir;
+
+    @BeforeAll
+    static void warmUp() {
+        BenchmarkApp.warmUp();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"default", "prod"})
+    void startupAndPostingThroughput(final String profile) throws Exception {
+        final long startupStart = System.nanoTime();
+        try (BenchmarkApp app = start(profile);
+                ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            final long startupMillis = (System.nanoTime() - startupStart) / 1_000_000;
+            final String token = app.signUpAndLogIn();
+            final String accountNumber = app.createAccount(token);
+            final HttpRequest deposit = app.postJson("/v1/accounts/" + accountNumber
+                            + "/transactions", token,
+                    toJson(new CreateTransactionRequestDto(BigDecimal.ONE, "GBP",
+                            TransactionType.DEPOSIT, "benchmark")));
+
+            final long start = System.nanoTime();
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                results.add(clients.submit(() -> {
+                    int created = 0;
+                    for (int i = 0; i < POSTINGS_PER_CLIENT; i++) {
+                        if (app.send(deposit)
+                                    .statusCode() == 201) {
+                            created++;
+                        }
+                    }
+                    return created;
+                }));
+            }
+            int created = 0;
+            for (Future<Integer> result : results) {
+                created += result.get();
+            }
+            final long nanos = System.nanoTime() - start;
+
+            log.info("{} profile: startup {} ms, {} postings/s", profile, startupMillis,
+                    created * 1_000_000_000L / Math.max(nanos, 1));
+            assertEquals(CLIENTS * POSTINGS_PER_CLIENT, created);
+        }
+    }
+
+    private BenchmarkApp start(final String profile) {
+        return BenchmarkApp.start("prod".equals(profile) ? "prod" : null,
+                "--spring.datasource.url=" + ("prod".equals(profile)
+                        ? "jdbc:h2:file:" + dataDir.resolve("eaglebank") + ";QUERY_CACHE_SIZE=64"
+                        : "jdbc:h2:mem:profile-benchmark"));
+    }
+}
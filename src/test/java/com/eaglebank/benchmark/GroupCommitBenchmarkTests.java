@@ -0,0 +1,126 @@
+package com.eaglebank.benchmark;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.service.PostingMode;
+import com.eaglebank.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Compares postings per second and commits per second with one commit per posting and with group
+ * commit, on the file-backed {@code prod} datasource, with each of the clients posting to its own
+ * account. Excluded from the default build; run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=GroupCommitBenchmarkTests}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("prod")
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:file:./target/group-commit-benchmark/eaglebank")
+class GroupCommitBenchmarkTests extends BaseMockMvcBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitBenchmarkTests.class);
+    private static final int CLIENTS = 16;
+    private static final int POSTINGS_PER_CLIENT = 100;
+    private static final int WARMUP_PER_CLIENT = 20;
+    private static final String COMMITS = "transactions.group-commit.commits";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @ParameterizedTest
+    @EnumSource(value = PostingMode.class, names = {"ATOMIC", "GROUP_COMMIT"})
+    void concurrentDeposits(final PostingMode mode) throws Exception {
+        final List<MockHttpServletRequestBuilder> deposits = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            deposits.add(post("/v1/accounts/" + createAccount("Benchmark") + "/transactions")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(toJson(new CreateTransactionRequestDto(BigDecimal.ONE, "GBP",
+                            TransactionType.DEPOSIT, "benchmark"))));
+        }
+
+        final Object target = AopTestUtils.getUltimateTargetObject(transactionService);
+        final Object previousMode = ReflectionTestUtils.getField(target, "postingMode");
+        final CountDownLatch ready = new CountDownLatch(CLIENTS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        final long nanos;
+        final double commitsBefore;
+        ReflectionTestUtils.setField(target, "postingMode", mode);
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (MockHttpServletRequestBuilder deposit : deposits) {
+                results.add(clients.submit(() -> {
+                    for (int i = 0; i < WARMUP_PER_CLIENT; i++) {
+                        mockMvc.perform(deposit);
+                    }
+                    ready.countDown();
+                    start.await();
+                    int created = 0;
+                    for (int i = 0; i < POSTINGS_PER_CLIENT; i++) {
+                        if (mockMvc.perform(deposit)
+                                    .andReturn()
+                                    .getResponse()
+                                    .getStatus() == 201) {
+                            created++;
+                        }
+                    }
+                    return created;
+                }));
+            }
+            ready.await();
+            commitsBefore = meterRegistry.counter(COMMITS)
+                    .count();
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            int created = 0;
+            for (Future<Integer> result : results) {
+                created += result.get();
+            }
+            nanos = System.nanoTime() - startNanos;
+            assertEquals(CLIENTS * POSTINGS_PER_CLIENT, created);
+        } finally {
+            ReflectionTestUtils.setField(target, "postingMode", previousMode);
+        }
+
+        final long postings = CLIENTS * POSTINGS_PER_CLIENT;
+        final long commits = mode == PostingMode.GROUP_COMMIT
+                ? Math.round(meterRegistry.counter(COMMITS)
+                        .count() - commitsBefore)
+                : postings;
+
+        log.info("{}, {} clients: {} postings/s, {} commits/s ({} postings per commit)", mode,
+                CLIENTS, perSecond(postings, nanos), perSecond(commits, nanos),
+                String.format("%.1f", (double) postings / commits));
+    }
+
+    private static long perSecond(final long count, final long nanos) {
+        return count * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.eaglebank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH harnesses in this package with the GC profiler, so every result carries its
+ * allocation rate per operation, and writes them to {@code target/jmh-result.json}. Excluded from
+ * the default build; run with {@code ./mvnw test -Pbenchmark}, optionally narrowed with
+ * {@code -Djmh.include=<regex>}.
+ */
+@Tag("benchmark")
+class JmhBenchmarkTests {
+
+    @Test
+    void runMicrobenchmarks() throws Exception {
+        final Options options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include",
+                        JmhBenchmarkTests.class.getPackageName() + ".*Benchmark"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+
+        assertFalse(new Runner(options).run()
+                .isEmpty());
+    }
+}
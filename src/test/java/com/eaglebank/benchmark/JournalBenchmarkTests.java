@@ -0,0 +1,127 @@
+package com.eaglebank.benchmark;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.dto.AccountType;
+import com.eaglebank.dto.CreateJournalEntryRequestDto;
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.JournalLegDto;
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.User;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Pays a payroll of {@value #EMPLOYEES} employees from one account, first as one journal entry and
+ * then as the separate withdrawal and deposits it replaces. Excluded from the default build; run
+ * with {@code ./mvnw test -Pbenchmark -Dtest=JournalBenchmarkTests}.
+ */
+@Tag("benchmark")
+class JournalBenchmarkTests extends BaseMockMvcBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalBenchmarkTests.class);
+    private static final int EMPLOYEES = 2000;
+    private static final BigDecimal SALARY = new BigDecimal("1.00");
+
+    private String employer;
+    private final List<String> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setup() throws Exception {
+        employer = createAccount("Payroll");
+        postTransaction(employer, new CreateTransactionRequestDto(new BigDecimal("10000.00"),
+                "GBP", TransactionType.DEPOSIT, "funding"));
+
+        // Employee accounts are inserted directly; opening them through the API is not measured
+        final User owner = userRepository.findAll()
+                .getFirst();
+        final List<BankAccount> accounts = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            final BankAccount bankAccount = new BankAccount("Salary", AccountType.PERSONAL);
+            bankAccount.setAccountNumber(String.format("019%05d", i));
+            bankAccount.setSortCode("10-10-10");
+            bankAccount.setBalance(BigDecimal.ZERO);
+            bankAccount.setCurrency("GBP");
+            bankAccount.setUser(owner);
+            bankAccount.setCreatedTimestamp(OffsetDateTime.now());
+            accounts.add(bankAccount);
+        }
+        bankAccountRepository.saveAll(accounts);
+        employees.clear();
+        accounts.forEach(bankAccount -> employees.add(bankAccount.getAccountNumber()));
+    }
+
+    @Test
+    void journalEntryVersusSeparatePostings() throws Exception {
+        final List<JournalLegDto> legs = new ArrayList<>(EMPLOYEES + 1);
+        legs.add(new JournalLegDto(employer, SALARY.multiply(BigDecimal.valueOf(EMPLOYEES))
+                .negate(), null));
+        employees.forEach(employee -> legs.add(new JournalLegDto(employee, SALARY, null)));
+        final String journal = toJson(new CreateJournalEntryRequestDto("GBP", "payroll", legs));
+
+        // Warm-up run of both paths; all of them are paid twice more below
+        payAsJournalEntry(journal);
+        payAsSeparatePostings();
+
+        final long journalStart = System.nanoTime();
+        payAsJournalEntry(journal);
+        final long journalNanos = System.nanoTime() - journalStart;
+
+        final long separateStart = System.nanoTime();
+        payAsSeparatePostings();
+        final long separateNanos = System.nanoTime() - separateStart;
+
+        assertEquals(0, SALARY.multiply(BigDecimal.valueOf(4))
+                .compareTo(bankAccountRepository.findById(employees.getLast())
+                        .orElseThrow()
+                        .getBalance()));
+
+        log.info("{} legs: journal entry {} ms ({} legs/s), separate postings {} ms ({} legs/s)",
+                EMPLOYEES + 1, journalNanos / 1_000_000, perSecond(journalNanos),
+                separateNanos / 1_000_000, perSecond(separateNanos));
+    }
+
+    private void payAsJournalEntry(final String journal) throws Exception {
+        mockMvc.perform(post("/v1/journal-entries")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(journal))
+                .andExpect(status().isCreated());
+    }
+
+    private void payAsSeparatePostings() throws Exception {
+        postTransaction(employer, new CreateTransactionRequestDto(SALARY.multiply(
+                BigDecimal.valueOf(EMPLOYEES)), "GBP", TransactionType.WITHDRAWAL, "payroll"));
+        final CreateTransactionRequestDto salary = new CreateTransactionRequestDto(SALARY, "GBP",
+                TransactionType.DEPOSIT, "payroll");
+        for (String employee : employees) {
+            postTransaction(employee, salary);
+        }
+    }
+
+    private void postTransaction(final String accountNumber,
+            final CreateTransactionRequestDto dto)
+            throws Exception {
+        mockMvc.perform(post("/v1/accounts/" + accountNumber + "/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(dto)))
+                .andExpect(status().isCreated());
+    }
+
+    private static long perSecond(final long nanos) {
+        return (EMPLOYEES + 1) * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
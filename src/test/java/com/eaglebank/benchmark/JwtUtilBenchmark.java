@@ -0,0 +1,87 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.model.User;
+import com.eaglebank.security.JwtUserDetails;
+import com.eaglebank.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of issuing a token at login and of turning a bearer token into {@link JwtUserDetails} on
+ * every request: a parser built per call (the previous behaviour), a pre-built parser, and
+ * {@link JwtUtil} with its verification cache warm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private Key key;
+    private JwtParser prebuiltParser;
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        prebuiltParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        jwtUtil = new JwtUtil(key, 10_000, new SimpleMeterRegistry());
+
+        user = new User();
+        user.setId("usr-1a2b3c4d5e6f");
+        user.setEmail("benchmark@email.com");
+        token = jwtUtil.generateToken(user);
+        jwtUtil.validateTokenAndGetUserDetails(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtUserDetails parserPerCall() {
+        return toUserDetails(Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody());
+    }
+
+    @Benchmark
+    public JwtUserDetails prebuiltParser() {
+        return toUserDetails(prebuiltParser.parseClaimsJws(token)
+                .getBody());
+    }
+
+    @Benchmark
+    public JwtUserDetails cachedVerification() {
+        return jwtUtil.validateTokenAndGetUserDetails(token);
+    }
+
+    private static JwtUserDetails toUserDetails(final Claims claims) {
+        return new JwtUserDetails(claims.get("userId", String.class), claims.getSubject());
+    }
+}
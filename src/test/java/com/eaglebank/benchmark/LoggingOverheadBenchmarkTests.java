@@ -0,0 +1,93 @@
+package com.eaglebank.benchmark;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.TransactionType;
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures posting latency under each logging setup: synchronous SQL and bind tracing (the default
+ * profile), SQL logging off, and the {@code prod} pipeline (async JSON) with every statement and
+ * with 1% of statements logged. Each run uses its own in-memory database. Excluded from the default
+ * build; run with {@code ./mvnw test -Pbenchmark -Dtest=LoggingOverheadBenchmarkTests}.
+ */
+@Tag("benchmark")
+class LoggingOverheadBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOverheadBenchmarkTests.class);
+    private static final int WARMUP = 200;
+    private static final int POSTINGS = 1_000;
+
+    @BeforeAll
+    static void warmUp() {
+        BenchmarkApp.warmUp();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sync-trace", "sql-off", "async-all", "async-sampled"})
+    void postingLatency(final String variant) throws Exception {
+        try (BenchmarkApp app = start(variant)) {
+            final String token = app.signUpAndLogIn();
+            final String accountNumber = app.createAccount(token);
+            final HttpRequest deposit = app.postJson("/v1/accounts/" + accountNumber
+                            + "/transactions", token,
+                    toJson(new CreateTransactionRequestDto(BigDecimal.ONE, "GBP",
+                            TransactionType.DEPOSIT, "benchmark")));
+
+            for (int i = 0; i < WARMUP; i++) {
+                app.send(deposit);
+            }
+
+            final long[] latencies = new long[POSTINGS];
+            final List<Integer> failures = new ArrayList<>();
+            for (int i = 0; i < POSTINGS; i++) {
+                final long start = System.nanoTime();
+                final int status = app.send(deposit)
+                        .statusCode();
+                latencies[i] = System.nanoTime() - start;
+                if (status != 201) {
+                    failures.add(status);
+                }
+            }
+            Arrays.sort(latencies);
+
+            log.info("{}: mean {} us, p50 {} us, p99 {} us", variant,
+                    Arrays.stream(latencies).sum() / POSTINGS / 1_000,
+                    latencies[POSTINGS / 2] / 1_000,
+                    latencies[POSTINGS * 99 / 100] / 1_000);
+            assertEquals(List.of(), failures);
+        }
+    }
+
+    private static BenchmarkApp start(final String variant) {
+        final List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:logging-" + variant));
+        String profile = null;
+        switch (variant) {
+            case "sql-off" -> {
+                args.add("--logging.level.org.hibernate.SQL=OFF");
+                args.add("--logging.level.org.hibernate.type.descriptor.sql=OFF");
+            }
+            case "async-all" -> {
+                profile = "prod";
+                args.add("--eaglebank.logging.sql-sample-rate=1.0");
+            }
+            case "async-sampled" -> profile = "prod";
+            default -> {
+            }
+        }
+        return BenchmarkApp.start(profile, args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,82 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.dto.AccountType;
+import com.eaglebank.dto.BankAccountResponseDto;
+import com.eaglebank.dto.CreateBankAccountRequestDto;
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.TransactionResponseDto;
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.mapper.BankAccountMapper;
+import com.eaglebank.mapper.TransactionMapper;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Transaction;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity/DTO conversions in {@link TransactionMapper} and {@link BankAccountMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private CreateTransactionRequestDto transactionRequest;
+    private Transaction transaction;
+    private CreateBankAccountRequestDto bankAccountRequest;
+    private BankAccount bankAccount;
+
+    @Setup
+    public void setup() {
+        final OffsetDateTime now = OffsetDateTime.now();
+
+        transactionRequest = new CreateTransactionRequestDto(new BigDecimal("125.50"), "GBP",
+                TransactionType.DEPOSIT, "Salary");
+        transaction = TransactionMapper.toEntity(transactionRequest);
+        transaction.setId("tan-1a2b3c");
+        transaction.setUserId("usr-1a2b3c4d5e6f");
+
+        bankAccountRequest = new CreateBankAccountRequestDto("Personal Bank Account", AccountType.PERSONAL);
+        bankAccount = BankAccountMapper.toEntity(bankAccountRequest);
+        bankAccount.setAccountNumber("01234567");
+        bankAccount.setSortCode("10-10-10");
+        bankAccount.setBalance(new BigDecimal("1000.00"));
+        bankAccount.setCurrency("GBP");
+        bankAccount.setCreatedTimestamp(now);
+        bankAccount.setUpdatedTimestamp(now);
+    }
+
+    @Benchmark
+    public Transaction transactionToEntity() {
+        return TransactionMapper.toEntity(transactionRequest);
+    }
+
+    @Benchmark
+    public TransactionResponseDto transactionToDto() {
+        return TransactionMapper.toDto(transaction);
+    }
+
+    @Benchmark
+    public BankAccount bankAccountToEntity() {
+        return BankAccountMapper.toEntity(bankAccountRequest);
+    }
+
+    @Benchmark
+    public BankAccountResponseDto bankAccountToDto() {
+        return BankAccountMapper.toDto(bankAccount);
+    }
+}
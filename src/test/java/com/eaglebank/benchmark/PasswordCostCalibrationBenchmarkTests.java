@@ -0,0 +1,61 @@
+package com.eaglebank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest BCrypt strength whose verify time on this machine stays within a target
+ * (default 250 ms, override with {@code -Dpassword.target-verify-millis}), as a value for
+ * {@code eaglebank.security.bcrypt-strength}. Excluded from the default build; run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=PasswordCostCalibrationBenchmarkTests}.
+ */
+@Tag("benchmark")
+class PasswordCostCalibrationBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(
+            PasswordCostCalibrationBenchmarkTests.class);
+    private static final String PASSWORD = "Str0ng-Passw0rd!";
+    private static final int MIN_STRENGTH = 8;
+    private static final int MAX_STRENGTH = 16;
+    private static final int SAMPLES = 5;
+
+    @Test
+    void calibrateBcryptStrength() {
+        final long targetMillis = Long.getLong("password.target-verify-millis", 250);
+        int recommended = MIN_STRENGTH;
+
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            final long medianMillis = medianVerifyMillis(new BCryptPasswordEncoder(strength));
+            log.info("bcrypt strength {}: median verify {} ms", strength, medianMillis);
+
+            if (medianMillis > targetMillis) {
+                break;
+            }
+            recommended = strength;
+        }
+
+        log.info("Recommended eaglebank.security.bcrypt-strength for a {} ms verify target: {}",
+                targetMillis, recommended);
+        assertTrue(recommended >= MIN_STRENGTH);
+    }
+
+    private static long medianVerifyMillis(final BCryptPasswordEncoder encoder) {
+        final String hash = encoder.encode(PASSWORD);
+        final long[] samples = new long[SAMPLES];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            final long start = System.nanoTime();
+            encoder.matches(PASSWORD, hash);
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
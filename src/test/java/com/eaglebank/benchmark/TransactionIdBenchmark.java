@@ -0,0 +1,51 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.service.TransactionIdGenerator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Transaction id generation from four threads at once: the previous UUID-prefix ids against
+ * {@link TransactionIdGenerator}. Uniqueness under concurrency is checked in
+ * {@code TransactionIdGeneratorUTest}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TransactionIdBenchmark {
+
+    private TransactionIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new TransactionIdGenerator(1, null, null);
+    }
+
+    @Benchmark
+    public String uuidPrefix() {
+        return "tan-" + UUID.randomUUID()
+                .toString()
+                .replace("-", "")
+                .substring(0, 6);
+    }
+
+    @Benchmark
+    public String generator() {
+        return generator.nextId();
+    }
+}
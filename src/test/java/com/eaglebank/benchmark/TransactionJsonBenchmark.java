@@ -0,0 +1,68 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.dto.TransactionPageResponseDto;
+import com.eaglebank.dto.TransactionResponseDto;
+import com.eaglebank.dto.TransactionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson serialisation of {@link TransactionResponseDto}: one row as written by the NDJSON
+ * export, and a history page at the default and maximum page sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionJsonBenchmark {
+
+    private static final TransactionResponseDto TRANSACTION = new TransactionResponseDto(
+            "tan-1a2b3c", new BigDecimal("125.50"), "GBP", TransactionType.DEPOSIT, "Salary",
+            "usr-1a2b3c4d5e6f", OffsetDateTime.now());
+
+    private final ObjectWriter writer = new ObjectMapper().findAndRegisterModules()
+            .writer();
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"50", "200"})
+        private int pageSize;
+
+        private TransactionPageResponseDto page;
+
+        @Setup
+        public void setup() {
+            page = new TransactionPageResponseDto(Collections.nCopies(pageSize, TRANSACTION),
+                    "MjAyNS0wNy0wMVQxMjowMDowMFp8dGFuLTFhMmIzYw");
+        }
+    }
+
+    @Benchmark
+    public byte[] singleRow() throws JsonProcessingException {
+        return writer.writeValueAsBytes(TRANSACTION);
+    }
+
+    @Benchmark
+    public byte[] historyPage(final Page page) throws JsonProcessingException {
+        return writer.writeValueAsBytes(page.page);
+    }
+}
@@ -0,0 +1,82 @@
+package com.eaglebank.benchmark;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.dto.CreateTransactionBatchRequestDto;
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.TransactionType;
+import java.math.BigDecimal;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Compares postings per second through the single-item endpoint and the batch endpoint. Excluded
+ * from the default build; run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TransactionPostingBenchmarkTests extends BaseMockMvcBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(
+            TransactionPostingBenchmarkTests.class);
+    private static final int POSTINGS = 500;
+    private static final int WARMUP = 50;
+    private static final CreateTransactionRequestDto DEPOSIT = new CreateTransactionRequestDto(
+            BigDecimal.ONE, "GBP", TransactionType.DEPOSIT, "benchmark");
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setup() throws Exception {
+        accountNumber = createAccount("Benchmark");
+    }
+
+    @Test
+    void singleVersusBatchPosting() throws Exception {
+        final String single = toJson(DEPOSIT);
+        final String batch = toJson(new CreateTransactionBatchRequestDto(
+                Collections.nCopies(POSTINGS, DEPOSIT)));
+
+        for (int i = 0; i < WARMUP; i++) {
+            postSingle(single);
+        }
+
+        final long singleStart = System.nanoTime();
+        for (int i = 0; i < POSTINGS; i++) {
+            postSingle(single);
+        }
+        final long singleNanos = System.nanoTime() - singleStart;
+
+        final long batchStart = System.nanoTime();
+        mockMvc.perform(post("/v1/accounts/" + accountNumber + "/transactions:batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isOk());
+        final long batchNanos = System.nanoTime() - batchStart;
+
+        assertEquals(WARMUP + 2L * POSTINGS, transactionRepository.count());
+
+        log.info("single-item: {} postings/s, batch: {} postings/s ({} items)",
+                perSecond(singleNanos), perSecond(batchNanos), POSTINGS);
+    }
+
+    private void postSingle(final String body) throws Exception {
+        mockMvc.perform(post("/v1/accounts/" + accountNumber + "/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+    }
+
+    private static long perSecond(final long nanos) {
+        return POSTINGS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.eaglebank.benchmark;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.CreateTransferRequestDto;
+import com.eaglebank.dto.TransactionType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Measures transfers per second when every client hammers the same few account pairs, half of
+ * them in each direction, so that without ordered locking they would deadlock. Excluded from the
+ * default build; run with {@code ./mvnw test -Pbenchmark -Dtest=TransferBenchmarkTests}.
+ */
+@Tag("benchmark")
+class TransferBenchmarkTests extends BaseMockMvcBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferBenchmarkTests.class);
+    private static final int CLIENTS = 8;
+    private static final int TRANSFERS_PER_CLIENT = 200;
+    private static final String OPENING_BALANCE = "1000.00";
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void transfersBetweenHotPairs(final int pairs) throws Exception {
+        final List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < 2 * pairs; i++) {
+            accounts.add(createFundedAccount());
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        final long nanos;
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                final int pair = c % pairs;
+                final boolean forward = (c / pairs) % 2 == 0;
+                final String from = accounts.get(2 * pair + (forward ? 0 : 1));
+                final String to = accounts.get(2 * pair + (forward ? 1 : 0));
+                final MockHttpServletRequestBuilder transfer = post(
+                        "/v1/accounts/" + from + "/transfers")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateTransferRequestDto(to, BigDecimal.ONE, "GBP",
+                                "benchmark")));
+                results.add(clients.submit(() -> {
+                    start.await();
+                    int created = 0;
+                    for (int i = 0; i < TRANSFERS_PER_CLIENT; i++) {
+                        if (mockMvc.perform(transfer)
+                                    .andReturn()
+                                    .getResponse()
+                                    .getStatus() == 201) {
+                            created++;
+                        }
+                    }
+                    return created;
+                }));
+            }
+            final long startNanos = System.nanoTime();
+            start.countDown();
+            int created = 0;
+            for (Future<Integer> result : results) {
+                created += result.get();
+            }
+            nanos = System.nanoTime() - startNanos;
+            assertEquals(CLIENTS * TRANSFERS_PER_CLIENT, created);
+        }
+
+        final BigDecimal total = accounts.stream()
+                .map(accountNumber -> bankAccountRepository.findById(accountNumber)
+                        .orElseThrow()
+                        .getBalance())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal(OPENING_BALANCE).multiply(
+                BigDecimal.valueOf(accounts.size())).compareTo(total));
+
+        log.info("{} hot pair(s), {} clients: {} transfers/s", pairs, CLIENTS,
+                CLIENTS * TRANSFERS_PER_CLIENT * 1_000_000_000L / Math.max(nanos, 1));
+    }
+
+    private String createFundedAccount() throws Exception {
+        final String accountNumber = createAccount("Benchmark");
+
+        mockMvc.perform(post("/v1/accounts/" + accountNumber + "/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateTransactionRequestDto(
+                                new BigDecimal(OPENING_BALANCE), "GBP", TransactionType.DEPOSIT,
+                                "opening balance"))))
+                .andExpect(status().isCreated());
+        return accountNumber;
+    }
+}
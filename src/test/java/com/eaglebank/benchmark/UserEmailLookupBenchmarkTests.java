@@ -0,0 +1,88 @@
+package com.eaglebank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.eaglebank.BaseIntegrationTest;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Grows the users table to a million rows and measures {@code findByEmail} latency at each size, to
+ * show that the email lookup stays flat. Excluded from the default build; run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=UserEmailLookupBenchmarkTests}.
+ */
+@Tag("benchmark")
+class UserEmailLookupBenchmarkTests extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEmailLookupBenchmarkTests.class);
+    private static final int[] TABLE_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int LOOKUPS = 2_000;
+    private static final int INSERT_BATCH = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropUsers() {
+        // deleteAll() would load every row as an entity
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void findByEmailLatencyByTableSize() {
+        final List<Long> microsPerLookup = new ArrayList<>();
+        int inserted = 0;
+
+        for (int size : TABLE_SIZES) {
+            insertUsers(inserted, size);
+            inserted = size;
+
+            for (int i = 0; i < LOOKUPS; i++) {
+                userRepository.findByEmail(email(ThreadLocalRandom.current()
+                        .nextInt(size)));
+            }
+
+            final long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                assertTrue(userRepository.findByEmail(email(ThreadLocalRandom.current()
+                                .nextInt(size)))
+                        .isPresent());
+            }
+            final long micros = (System.nanoTime() - start) / 1_000 / LOOKUPS;
+            microsPerLookup.add(micros);
+
+            log.info("{} users: findByEmail {} us/lookup", size, micros);
+        }
+
+        // Flat within noise; a full scan would be ~100x slower at 1M than at 10k
+        assertTrue(microsPerLookup.getLast() < microsPerLookup.getFirst() * 10 + 100);
+    }
+
+    private void insertUsers(final int from, final int to) {
+        final OffsetDateTime now = OffsetDateTime.now();
+
+        for (int batchStart = from; batchStart < to; batchStart += INSERT_BATCH) {
+            final List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = batchStart; i < Math.min(batchStart + INSERT_BATCH, to); i++) {
+                rows.add(new Object[]{"usr-" + i, "User " + i, email(i), "{bcrypt}hash", now, now});
+            }
+            jdbcTemplate.batchUpdate("""
+                    insert into users (id, name, email, password, created_timestamp, updated_timestamp)
+                    values (?, ?, ?, ?, ?, ?)
+                    """, rows);
+        }
+    }
+
+    private static String email(final int i) {
+        return "user" + i + "@email.com";
+    }
+}
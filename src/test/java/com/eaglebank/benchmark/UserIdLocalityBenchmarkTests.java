@@ -0,0 +1,91 @@
+package com.eaglebank.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.eaglebank.BaseIntegrationTest;
+import com.eaglebank.model.UserIdGenerator;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Bulk-inserts users keyed by the previous random ids and by {@link UserIdGenerator} and reports
+ * the insert rate, overall and once the table is large. Random keys touch and split pages all over
+ * the primary key B-tree; time-ordered keys only touch its right-hand edge. Excluded from the
+ * default build; run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=UserIdLocalityBenchmarkTests}.
+ */
+@Tag("benchmark")
+class UserIdLocalityBenchmarkTests extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdLocalityBenchmarkTests.class);
+    private static final int USERS = 500_000;
+    private static final int INSERT_BATCH = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void warmUp() {
+        // Keep JIT compilation of the insert path out of whichever variant runs first
+        final UserIdGenerator generator = new UserIdGenerator();
+        insertUsers(USERS / 5, () -> (String) generator.generate(null, null));
+        dropUsers();
+    }
+
+    @AfterEach
+    void dropUsers() {
+        // deleteAll() would load every row as an entity
+        jdbcTemplate.update("delete from users");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"random", "time-ordered"})
+    void bulkInsertLocality(final String ids) {
+        final UserIdGenerator generator = new UserIdGenerator();
+        final Supplier<String> nextId = "random".equals(ids)
+                ? () -> "usr-" + UUID.randomUUID()
+                .toString()
+                .replace("-", "")
+                .substring(0, 12)
+                : () -> (String) generator.generate(null, null);
+        final long start = System.nanoTime();
+        insertUsers(USERS * 4 / 5, nextId);
+        final long lastFifthStart = System.nanoTime();
+        insertUsers(USERS / 5, nextId);
+        final long end = System.nanoTime();
+
+        assertEquals(USERS, userRepository.count());
+        log.info("{} ids: {} inserts/s overall, {} inserts/s for the last 20%", ids,
+                USERS * 1_000_000_000L / (end - start),
+                USERS / 5 * 1_000_000_000L / (end - lastFifthStart));
+    }
+
+    private void insertUsers(final int count, final Supplier<String> nextId) {
+        final OffsetDateTime now = OffsetDateTime.now();
+        final int from = Math.toIntExact(userRepository.count());
+
+        for (int batchStart = from; batchStart < from + count; batchStart += INSERT_BATCH) {
+            final List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = batchStart; i < batchStart + INSERT_BATCH; i++) {
+                rows.add(new Object[]{nextId.get(), "User " + i, "user" + i + "@email.com",
+                        "{bcrypt}hash", now, now});
+            }
+            jdbcTemplate.batchUpdate("""
+                    insert into users (id, name, email, password, created_timestamp, updated_timestamp)
+                    values (?, ?, ?, ?, ?, ?)
+                    """, rows);
+        }
+    }
+}
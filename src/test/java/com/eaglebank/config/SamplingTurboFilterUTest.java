@@ -0,0 +1,98 @@
+package com.eaglebank.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SamplingTurboFilterUTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final Logger sqlLogger = loggerContext.getLogger("org.hibernate.SQL");
+
+    private SamplingTurboFilter testObj;
+
+    @BeforeEach
+    void setUp() {
+        testObj = new SamplingTurboFilter();
+        testObj.setContext(loggerContext);
+        testObj.setLoggerName("org.hibernate.SQL");
+    }
+
+    @Test
+    void decide_rateZero_shouldDenyStatements() {
+        testObj.setRate(0);
+        testObj.start();
+
+        assertEquals(FilterReply.DENY, decide(sqlLogger, Level.DEBUG));
+    }
+
+    @Test
+    void decide_rateOne_shouldLeaveStatementsToLoggerLevel() {
+        testObj.setRate(1);
+        testObj.start();
+
+        assertEquals(FilterReply.NEUTRAL, decide(sqlLogger, Level.DEBUG));
+    }
+
+    @Test
+    void decide_partialRate_shouldLetThroughAboutThatFraction() {
+        testObj.setRate(0.1);
+        testObj.start();
+
+        int passed = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (decide(sqlLogger, Level.DEBUG) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+
+        assertEquals(10_000, passed, 1_000);
+    }
+
+    @Test
+    void decide_moreSevereLevel_shouldNotSample() {
+        testObj.setRate(0);
+        testObj.start();
+
+        assertEquals(FilterReply.NEUTRAL, decide(sqlLogger, Level.WARN));
+    }
+
+    @Test
+    void decide_otherLogger_shouldNotSample() {
+        testObj.setRate(0);
+        testObj.start();
+
+        assertEquals(FilterReply.NEUTRAL,
+                decide(loggerContext.getLogger("org.hibernate.SQLQuery"), Level.DEBUG));
+        assertEquals(FilterReply.DENY,
+                decide(loggerContext.getLogger("org.hibernate.SQL.child"), Level.DEBUG));
+    }
+
+    @Test
+    void decide_isEnabledCheck_shouldNotSample() {
+        testObj.setRate(0);
+        testObj.start();
+
+        assertEquals(FilterReply.NEUTRAL,
+                testObj.decide(null, sqlLogger, Level.DEBUG, null, null, null));
+    }
+
+    @Test
+    void start_rateOutOfRange_shouldNotStart() {
+        testObj.setRate(1.5);
+        testObj.start();
+
+        assertFalse(testObj.isStarted());
+        assertEquals(FilterReply.NEUTRAL, decide(sqlLogger, Level.DEBUG));
+    }
+
+    private FilterReply decide(final Logger logger, final Level level) {
+        return testObj.decide(null, logger, level, "select 1", null, null);
+    }
+}
@@ -2,6 +2,7 @@ package com.eaglebank.controller;
 
 import static com.eaglebank.testutils.UserTestCommons.EMAIL;
 import static com.eaglebank.testutils.UserTestCommons.ENCRYPTED_PASSWORD;
+import static com.eaglebank.testutils.UserTestCommons.ID;
 import static com.eaglebank.testutils.UserTestCommons.PASSWORD;
 import static com.eaglebank.testutils.UserTestCommons.buildUserWithEncryptedPassword;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -9,6 +10,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.eaglebank.dto.AuthRequestDto;
@@ -16,6 +19,8 @@ import com.eaglebank.dto.AuthResponseDto;
 import com.eaglebank.model.User;
 import com.eaglebank.repository.UserRepository;
 import com.eaglebank.security.JwtUtil;
+import com.eaglebank.security.PasswordHashingService;
+import com.eaglebank.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -25,7 +30,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
 class AuthControllerUTest {
@@ -34,11 +38,14 @@ class AuthControllerUTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private UserService userService;
+
     @InjectMocks
     private AuthController testObj;
 
@@ -48,7 +55,7 @@ class AuthControllerUTest {
         final String token = "token";
         when(userRepository.findByEmail(EMAIL)).thenReturn(
                 Optional.of(user));
-        when(passwordEncoder.matches(PASSWORD, ENCRYPTED_PASSWORD)).thenReturn(true);
+        when(passwordHashingService.matches(PASSWORD, ENCRYPTED_PASSWORD)).thenReturn(true);
         when(jwtUtil.generateToken(user)).thenReturn(token);
         final ResponseEntity<AuthResponseDto> actual = testObj.login(
                 new AuthRequestDto(EMAIL, PASSWORD));
@@ -59,6 +66,35 @@ class AuthControllerUTest {
                 .token());
     }
 
+    @Test
+    void login_withOutdatedHash_shouldUpgradeHashInBackground() {
+        final User user = buildUserWithEncryptedPassword();
+        user.setId(ID);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(
+                Optional.of(user));
+        when(passwordHashingService.matches(PASSWORD, ENCRYPTED_PASSWORD)).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding(ENCRYPTED_PASSWORD)).thenReturn(true);
+        when(jwtUtil.generateToken(user)).thenReturn("token");
+
+        testObj.login(new AuthRequestDto(EMAIL, PASSWORD));
+
+        verify(userService).upgradePasswordHash(ID, PASSWORD, ENCRYPTED_PASSWORD);
+    }
+
+    @Test
+    void login_withCurrentHash_shouldNotUpgradeHash() {
+        final User user = buildUserWithEncryptedPassword();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(
+                Optional.of(user));
+        when(passwordHashingService.matches(PASSWORD, ENCRYPTED_PASSWORD)).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding(ENCRYPTED_PASSWORD)).thenReturn(false);
+        when(jwtUtil.generateToken(user)).thenReturn("token");
+
+        testObj.login(new AuthRequestDto(EMAIL, PASSWORD));
+
+        verifyNoInteractions(userService);
+    }
+
     @Test
     void login_withNonExistingEmail_shouldThrowException() {
         final String message = "User not found";
@@ -81,7 +117,7 @@ class AuthControllerUTest {
         when(userRepository.findByEmail(EMAIL)).thenReturn(
                 Optional.of(user));
         final String message = "Invalid password";
-        when(passwordEncoder.matches(PASSWORD, ENCRYPTED_PASSWORD)).thenReturn(false);
+        when(passwordHashingService.matches(PASSWORD, ENCRYPTED_PASSWORD)).thenReturn(false);
 
         final RuntimeException exception = assertThrows(
                 RuntimeException.class,
@@ -14,10 +14,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.eaglebank.dto.AccountType;
+import com.eaglebank.dto.BalanceResponseDto;
 import com.eaglebank.dto.BankAccountResponseDto;
 import com.eaglebank.dto.CreateBankAccountRequestDto;
 import com.eaglebank.dto.UpdateBankAccountRequestDto;
 import com.eaglebank.security.AuthenticatedUser;
+import com.eaglebank.service.BalanceCheckpointService;
 import com.eaglebank.service.BankAccountService;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
@@ -40,6 +42,9 @@ class BankAccountControllerUTest {
     @Mock
     private BankAccountService bankAccountService;
 
+    @Mock
+    private BalanceCheckpointService balanceCheckpointService;
+
     @InjectMocks
     private BankAccountController testObj;
 
@@ -288,4 +293,18 @@ class BankAccountControllerUTest {
         assertTrue(exception.getMessage()
                 .contains(message));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBalance_withAsOf_shouldReturnBalanceAtThatTime() {
+        final OffsetDateTime asOf = OffsetDateTime.parse("2026-03-01T12:00:00Z");
+        final BalanceResponseDto expected = new BalanceResponseDto(ACCOUNT_NUMBER, BigDecimal.TEN,
+                "GBP", asOf);
+        when(balanceCheckpointService.getBalance(ACCOUNT_NUMBER, ID, asOf)).thenReturn(expected);
+
+        final ResponseEntity<BalanceResponseDto> actual = testObj.getBalance(ACCOUNT_NUMBER, asOf,
+                AUTH_USER);
+
+        assertEquals(HttpStatusCode.valueOf(200), actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+    }
+}
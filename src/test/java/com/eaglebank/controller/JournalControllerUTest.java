@@ -0,0 +1,50 @@
+package com.eaglebank.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.dto.CreateJournalEntryRequestDto;
+import com.eaglebank.dto.JournalEntryResponseDto;
+import com.eaglebank.dto.JournalLegDto;
+import com.eaglebank.security.AuthenticatedUser;
+import com.eaglebank.service.JournalService;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+class JournalControllerUTest {
+
+    private static final String USER_ID = "1L";
+    private static final AuthenticatedUser AUTHENTICATED_USER = new AuthenticatedUser(USER_ID,
+            "john@email.com", List.of());
+
+    @Mock
+    private JournalService journalService;
+
+    @InjectMocks
+    private JournalController testObj;
+
+    @Test
+    void createJournalEntry_withAllParams_shouldReturnSummary() {
+        final CreateJournalEntryRequestDto requestDto = new CreateJournalEntryRequestDto("GBP",
+                "Payroll", List.of(new JournalLegDto("01000001", BigDecimal.TEN.negate(), null),
+                new JournalLegDto("01000002", BigDecimal.TEN, null)));
+        final JournalEntryResponseDto expected = new JournalEntryResponseDto(2, BigDecimal.TEN,
+                "GBP", "Payroll", OffsetDateTime.now());
+        when(journalService.createJournalEntry(USER_ID, requestDto)).thenReturn(expected);
+
+        final ResponseEntity<JournalEntryResponseDto> actual = testObj.createJournalEntry(
+                requestDto, AUTHENTICATED_USER);
+
+        assertEquals(HttpStatus.CREATED, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+    }
+}
@@ -4,24 +4,41 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.eaglebank.dto.CreateTransactionBatchRequestDto;
 import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.CreateTransferRequestDto;
+import com.eaglebank.dto.TransactionBatchResponseDto;
+import com.eaglebank.dto.TransactionPageResponseDto;
 import com.eaglebank.dto.TransactionResponseDto;
 import com.eaglebank.dto.TransactionType;
+import com.eaglebank.dto.TransferResponseDto;
 import com.eaglebank.security.AuthenticatedUser;
 import com.eaglebank.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionControllerUTest {
@@ -38,6 +55,9 @@ class TransactionControllerUTest {
     @Mock
     private TransactionService transactionService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private TransactionController testObj;
 
@@ -52,13 +72,35 @@ class TransactionControllerUTest {
                 CURRENCY,
                 TransactionType.DEPOSIT, REFERENCE, USER_ID, OffsetDateTime.now());
         when(transactionService.createTransaction(ACCOUNT_NUMBER, USER_ID,
-                createTransactionRequestDto)).thenReturn(
+                createTransactionRequestDto, null)).thenReturn(
+                expected);
+
+        final ResponseEntity<TransactionResponseDto> actual = testObj.createTransaction(
+                ACCOUNT_NUMBER,
+                createTransactionRequestDto, null, AUTHENTICATED_USER);
+
+        assertEquals(expected, actual.getBody());
+    }
+
+    @Test
+    void createTransaction_withIdempotencyKey_shouldPassKeyToService() {
+        final CreateTransactionRequestDto createTransactionRequestDto = new CreateTransactionRequestDto(
+                BigDecimal.TEN,
+                CURRENCY, TransactionType.DEPOSIT,
+                REFERENCE);
+        final TransactionResponseDto expected = new TransactionResponseDto(TRANSACTION_ID,
+                BigDecimal.TEN,
+                CURRENCY,
+                TransactionType.DEPOSIT, REFERENCE, USER_ID, OffsetDateTime.now());
+        when(transactionService.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                createTransactionRequestDto, "key-1")).thenReturn(
                 expected);
 
         final ResponseEntity<TransactionResponseDto> actual = testObj.createTransaction(
                 ACCOUNT_NUMBER,
-                createTransactionRequestDto, AUTHENTICATED_USER);
+                createTransactionRequestDto, "key-1", AUTHENTICATED_USER);
 
+        assertEquals(HttpStatus.CREATED, actual.getStatusCode());
         assertEquals(expected, actual.getBody());
     }
 
@@ -72,25 +114,62 @@ class TransactionControllerUTest {
         final String message = "Something went wrong";
         doThrow(new RuntimeException(message)).when(transactionService)
                 .createTransaction(any(), any(),
-                        any());
+                        any(), any());
 
         final var actual = assertThrows(RuntimeException.class, () -> testObj.createTransaction(
                 ACCOUNT_NUMBER,
-                createTransactionRequestDto, AUTHENTICATED_USER), message);
+                createTransactionRequestDto, null, AUTHENTICATED_USER), message);
 
         assertTrue(actual.getMessage()
                 .contains(message));
     }
 
+    @Test
+    void createTransfer_withAllParams_shouldReturnBothLegs() {
+        final CreateTransferRequestDto requestDto = new CreateTransferRequestDto("01999999",
+                BigDecimal.TEN, CURRENCY, REFERENCE);
+        final TransferResponseDto expected = new TransferResponseDto(ACCOUNT_NUMBER, "01999999",
+                new TransactionResponseDto(TRANSACTION_ID, BigDecimal.TEN, CURRENCY,
+                        TransactionType.WITHDRAWAL, REFERENCE, USER_ID, OffsetDateTime.now()),
+                new TransactionResponseDto("987654321", BigDecimal.TEN, CURRENCY,
+                        TransactionType.DEPOSIT, REFERENCE, USER_ID, OffsetDateTime.now()));
+        when(transactionService.transfer(ACCOUNT_NUMBER, USER_ID, requestDto)).thenReturn(
+                expected);
+
+        final ResponseEntity<TransferResponseDto> actual = testObj.createTransfer(ACCOUNT_NUMBER,
+                requestDto, AUTHENTICATED_USER);
+
+        assertEquals(HttpStatus.CREATED, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+    }
+
+    @Test
+    void createTransactions_withBatch_shouldReturnItemResults() {
+        final List<CreateTransactionRequestDto> items = List.of(new CreateTransactionRequestDto(
+                BigDecimal.TEN, CURRENCY, TransactionType.DEPOSIT, REFERENCE));
+        final TransactionBatchResponseDto expected = new TransactionBatchResponseDto(1, 0,
+                List.of());
+
+        when(transactionService.createTransactions(ACCOUNT_NUMBER, USER_ID, items)).thenReturn(
+                expected);
+
+        final ResponseEntity<TransactionBatchResponseDto> actual = testObj.createTransactions(
+                ACCOUNT_NUMBER, new CreateTransactionBatchRequestDto(items), AUTHENTICATED_USER);
+
+        assertEquals(expected, actual.getBody());
+    }
+
     @Test
     void getTransactions_withAccountNumber_shouldReturnList() {
         final TransactionResponseDto transactionResponseDto = mock();
-        final List<TransactionResponseDto> expected = List.of(transactionResponseDto);
+        final TransactionPageResponseDto expected = new TransactionPageResponseDto(
+                List.of(transactionResponseDto), null);
 
-        when(transactionService.getTransactions(ACCOUNT_NUMBER, USER_ID)).thenReturn(expected);
+        when(transactionService.getTransactions(ACCOUNT_NUMBER, USER_ID, null, null)).thenReturn(
+                expected);
 
-        final ResponseEntity<List<TransactionResponseDto>> actual = testObj.getTransactions(
-                ACCOUNT_NUMBER, AUTHENTICATED_USER);
+        final ResponseEntity<TransactionPageResponseDto> actual = testObj.getTransactions(
+                ACCOUNT_NUMBER, null, null, AUTHENTICATED_USER);
 
         assertEquals(expected, actual.getBody());
     }
@@ -100,15 +179,59 @@ class TransactionControllerUTest {
         final String message = "Something went wrong";
 
         doThrow(new RuntimeException(message)).when(transactionService)
-                .getTransactions(ACCOUNT_NUMBER, USER_ID);
+                .getTransactions(ACCOUNT_NUMBER, USER_ID, null, null);
 
         final var actual = assertThrows(RuntimeException.class, () -> testObj.getTransactions(
-                ACCOUNT_NUMBER, AUTHENTICATED_USER), message);
+                ACCOUNT_NUMBER, null, null, AUTHENTICATED_USER), message);
 
         assertTrue(actual.getMessage()
                 .contains(message));
     }
 
+    @Test
+    void exportTransactions_withAccountNumber_shouldWriteOneJsonLinePerTransaction()
+            throws Exception {
+        final TransactionResponseDto first = new TransactionResponseDto("tan-1", BigDecimal.TEN,
+                CURRENCY, TransactionType.DEPOSIT, REFERENCE, USER_ID, null);
+        final TransactionResponseDto second = new TransactionResponseDto("tan-2", BigDecimal.ONE,
+                CURRENCY, TransactionType.WITHDRAWAL, REFERENCE, USER_ID, null);
+
+        doAnswer(invocation -> {
+            final Consumer<TransactionResponseDto> consumer = invocation.getArgument(1);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(transactionService)
+                .streamTransactions(eq(ACCOUNT_NUMBER), any());
+
+        final ResponseEntity<StreamingResponseBody> actual = testObj.exportTransactions(
+                ACCOUNT_NUMBER, AUTHENTICATED_USER);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        actual.getBody()
+                .writeTo(out);
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8)
+                .split("\n");
+        assertEquals("application/x-ndjson", actual.getHeaders()
+                .getContentType()
+                .toString());
+        assertEquals(2, lines.length);
+        assertEquals(first, objectMapper.readValue(lines[0], TransactionResponseDto.class));
+        assertEquals(second, objectMapper.readValue(lines[1], TransactionResponseDto.class));
+        verify(transactionService).verifyAccountOwner(ACCOUNT_NUMBER, USER_ID);
+    }
+
+    @Test
+    void exportTransactions_notOwner_shouldThrowBeforeStreaming() {
+        doThrow(new AccessDeniedException("denied")).when(transactionService)
+                .verifyAccountOwner(ACCOUNT_NUMBER, USER_ID);
+
+        assertThrows(AccessDeniedException.class,
+                () -> testObj.exportTransactions(ACCOUNT_NUMBER, AUTHENTICATED_USER));
+
+        verify(transactionService, never()).streamTransactions(any(), any());
+    }
+
     @Test
     void getTransaction_withAccountNumber_shouldReturnTransaction() {
         final TransactionResponseDto expected = mock();
@@ -0,0 +1,110 @@
+package com.eaglebank.model;
+
+import static com.eaglebank.model.UserIdGenerator.EPOCH_MILLIS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class UserIdGeneratorUTest {
+
+    private static final long NOW = EPOCH_MILLIS + 86_400_000L * 200;
+
+    @Test
+    void generate_shouldMatchUserIdFormat() {
+        final UserIdGenerator testObj = new UserIdGenerator();
+
+        final String actual = (String) testObj.generate(null, null);
+
+        assertTrue(actual.matches("^usr-[A-Za-z0-9]{12}$"), actual);
+    }
+
+    @Test
+    void nextId_laterMillisecond_shouldSortAfterEarlierOne() {
+        final AtomicLong clock = new AtomicLong(NOW);
+        // Highest node number, so only the time prefix can order the ids
+        final UserIdGenerator testObj = new UserIdGenerator((1 << UserIdGenerator.NODE_BITS) - 1,
+                clock::get);
+
+        final String earlier = testObj.nextId();
+        clock.incrementAndGet();
+        final String later = testObj.nextId();
+
+        assertTrue(later.compareTo(earlier) > 0);
+        assertNotEquals(earlier.substring(4, 11), later.substring(4, 11));
+    }
+
+    @Test
+    void nextId_frozenClock_shouldStayUniqueAndIncreasing() {
+        final UserIdGenerator testObj = new UserIdGenerator(42, () -> NOW);
+        String previous = testObj.nextId();
+
+        // More ids than one millisecond's sequence holds
+        for (int i = 0; i < 5_000; i++) {
+            final String next = testObj.nextId();
+
+            assertTrue(next.compareTo(previous) > 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_twoInstancesSameClock_shouldNotCollide() {
+        final UserIdGenerator first = new UserIdGenerator(1, () -> NOW);
+        final UserIdGenerator second = new UserIdGenerator(2, () -> NOW);
+        final String[] ids = new String[4_000];
+
+        for (int i = 0; i < ids.length; i += 2) {
+            ids[i] = first.nextId();
+            ids[i + 1] = second.nextId();
+        }
+
+        assertEquals(ids.length, Arrays.stream(ids)
+                .distinct()
+                .count());
+    }
+
+    @Test
+    void nextId_concurrentCallers_shouldBeUniqueAndIncreasingPerThread() throws Exception {
+        final UserIdGenerator testObj = new UserIdGenerator();
+        final int threads = 16;
+        final int perThread = 20_000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<String[]>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    final String[] ids = new String[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = testObj.nextId();
+                        assertTrue(i == 0 || ids[i].compareTo(ids[i - 1]) > 0);
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            final List<String> all = new ArrayList<>(threads * perThread);
+            for (Future<String[]> result : results) {
+                all.addAll(Arrays.asList(result.get()));
+            }
+            assertEquals(threads * perThread, all.stream()
+                    .distinct()
+                    .count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,22 +1,27 @@
 package com.eaglebank.security;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.eaglebank.model.User;
 import com.eaglebank.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -29,6 +34,10 @@ class JwtAuthFilterUTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private PrincipalCache principalCache = new PrincipalCache(100, Duration.ofMinutes(5),
+            new SimpleMeterRegistry());
+
     @InjectMocks
     private JwtAuthFilter jwtAuthFilter;
 
@@ -57,15 +66,17 @@ class JwtAuthFilterUTest {
         when(jwtUtil.validateTokenAndGetUserDetails(token)).thenReturn(jwtUserDetails);
 
         final User mockUser = new User();
+        mockUser.setId("1L");
         mockUser.setEmail("user@email.com");
-        when(userRepository.findByEmail("user@email.com")).thenReturn(Optional.of(mockUser));
+        when(userRepository.findById("1L")).thenReturn(Optional.of(mockUser));
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         final var auth = SecurityContextHolder.getContext()
                 .getAuthentication();
         assertNotNull(auth);
-        assertEquals("user@email.com", ((AuthenticatedUser) auth.getPrincipal()).getUsername());
+        assertEquals("user@email.com", assertInstanceOf(AuthenticatedUser.class,
+                auth.getPrincipal()).getUsername());
 
         verify(filterChain).doFilter(request, response);
     }
@@ -91,7 +102,47 @@ class JwtAuthFilterUTest {
         final var jwtUserDetails = new JwtUserDetails("1L", "notfound@email.com");
         when(jwtUtil.validateTokenAndGetUserDetails(token)).thenReturn(jwtUserDetails);
 
-        when(userRepository.findByEmail("notfound@email.com")).thenReturn(Optional.empty());
+        when(userRepository.findById("1L")).thenReturn(Optional.empty());
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext()
+                .getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_cachedPrincipal_shouldNotQueryUsers() throws Exception {
+        final String token = "valid.jwt.token";
+        final User mockUser = new User();
+        mockUser.setId("1L");
+        mockUser.setEmail("user@email.com");
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.validateTokenAndGetUserDetails(token)).thenReturn(
+                new JwtUserDetails("1L", "user@email.com"));
+        when(userRepository.findById("1L")).thenReturn(Optional.of(mockUser));
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        assertNotNull(SecurityContextHolder.getContext()
+                .getAuthentication());
+        verify(userRepository, times(1)).findById("1L");
+    }
+
+    @Test
+    void doFilterInternal_emailNoLongerMatches_doesNotAuthenticate() throws Exception {
+        final String token = "valid.jwt.token";
+        final User mockUser = new User();
+        mockUser.setId("1L");
+        mockUser.setEmail("changed@email.com");
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.validateTokenAndGetUserDetails(token)).thenReturn(
+                new JwtUserDetails("1L", "user@email.com"));
+        when(userRepository.findById("1L")).thenReturn(Optional.of(mockUser));
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
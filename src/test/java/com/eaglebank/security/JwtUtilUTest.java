@@ -8,6 +8,7 @@ import com.eaglebank.model.User;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.security.Key;
 import java.util.Date;
 import org.junit.jupiter.api.Test;
@@ -18,7 +19,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class JwtUtilUTest {
 
     Key sharedKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    private final JwtUtil jwtUtil = new JwtUtil(sharedKey);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtUtil jwtUtil = new JwtUtil(sharedKey, 100, meterRegistry);
 
     @Test
     void generateToken_and_validateToken_successfully() {
@@ -35,6 +37,35 @@ class JwtUtilUTest {
         assertEquals("123L", userDetails.id());
     }
 
+    @Test
+    void validateTokenAndGetUserDetails_sameTokenTwice_shouldVerifyOnce() {
+        final User user = new User();
+        user.setId("123L");
+        user.setEmail("test@example.com");
+        final String token = jwtUtil.generateToken(user);
+
+        final JwtUserDetails first = jwtUtil.validateTokenAndGetUserDetails(token);
+        final JwtUserDetails second = jwtUtil.validateTokenAndGetUserDetails(token);
+
+        assertEquals(first, second);
+        assertEquals(1.0, tokenCacheGets("hit"));
+        assertEquals(1.0, tokenCacheGets("miss"));
+    }
+
+    @Test
+    void validateTokenAndGetUserDetails_tamperedToken_returnsNull() {
+        final User user = new User();
+        user.setId("123L");
+        user.setEmail("test@example.com");
+        final String token = jwtUtil.generateToken(user);
+        jwtUtil.validateTokenAndGetUserDetails(token);
+
+        final String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(jwtUtil.validateTokenAndGetUserDetails(tampered));
+    }
+
     @Test
     void validateTokenAndGetUserDetails_invalidToken_returnsNull() {
         final String invalidToken = "this.is.not.a.valid.token";
@@ -50,7 +81,7 @@ class JwtUtilUTest {
         user.setId("1L");
         user.setEmail("expired@example.com");
 
-        final JwtUtil expiringUtil = new JwtUtil(sharedKey) {
+        final JwtUtil expiringUtil = new JwtUtil(sharedKey, 100, meterRegistry) {
             @Override
             public String generateToken(User user) {
                 return Jwts.builder()
@@ -69,4 +100,12 @@ class JwtUtilUTest {
 
         assertNull(userDetails);
     }
-}
\ No newline at end of file
+
+    private double tokenCacheGets(final String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "tokens")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
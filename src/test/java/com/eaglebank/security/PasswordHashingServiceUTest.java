@@ -0,0 +1,100 @@
+package com.eaglebank.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHashingServiceUTest {
+
+    private static final String PASSWORD = "password123";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Counted down once the pool thread is inside the encoder, so the next task can only queue
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Mock
+    private PasswordEncoder blockingEncoder;
+
+    @AfterEach
+    void releaseBlockedHashes() {
+        release.countDown();
+    }
+
+    @Test
+    void encode_thenMatches_shouldVerifyAndRecordTimers() {
+        final PasswordHashingService testObj = new PasswordHashingService(
+                new BCryptPasswordEncoder(4), 1, 4, Duration.ofSeconds(5), meterRegistry);
+
+        final String hash = testObj.encode(PASSWORD);
+
+        assertTrue(testObj.matches(PASSWORD, hash));
+        assertFalse(testObj.matches("wrong-password", hash));
+        assertEquals(1, timerCount("encode"));
+        assertEquals(2, timerCount("matches"));
+    }
+
+    @Test
+    void encode_poolAndQueueFull_shouldThrowTooManyRequests() throws Exception {
+        blockEncodes();
+        final PasswordHashingService testObj = new PasswordHashingService(blockingEncoder, 1, 1,
+                Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture.runAsync(() -> testObj.encode(PASSWORD));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> testObj.encode(PASSWORD));
+        while (queued() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> testObj.encode(PASSWORD));
+    }
+
+    @Test
+    void encode_slowerThanTimeout_shouldThrowTooManyRequests() {
+        blockEncodes();
+        final PasswordHashingService testObj = new PasswordHashingService(blockingEncoder, 1, 1,
+                Duration.ofMillis(50), meterRegistry);
+
+        assertThrows(TooManyRequestsException.class, () -> testObj.encode(PASSWORD));
+    }
+
+    private void blockEncodes() {
+        when(blockingEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+    }
+
+    private long timerCount(final String operation) {
+        return meterRegistry.get("password.hashing")
+                .tag("operation", operation)
+                .timer()
+                .count();
+    }
+
+    private double queued() {
+        return meterRegistry.get("password.hashing.queued")
+                .gauge()
+                .value();
+    }
+}
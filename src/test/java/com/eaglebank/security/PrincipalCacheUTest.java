@@ -0,0 +1,81 @@
+package com.eaglebank.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheUTest {
+
+    private static final String USER_ID = "usr-123456789012";
+    private static final AuthenticatedUser PRINCIPAL = new AuthenticatedUser(USER_ID,
+            "john@email.com", List.of());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PrincipalCache testObj = new PrincipalCache(100, Duration.ofMinutes(5),
+            meterRegistry);
+
+    @Test
+    void get_repeatedLookups_shouldLoadOnceAndRecordHits() {
+        final AtomicInteger loads = new AtomicInteger();
+
+        testObj.get(USER_ID, id -> {
+            loads.incrementAndGet();
+            return Optional.of(PRINCIPAL);
+        });
+        final Optional<AuthenticatedUser> actual = testObj.get(USER_ID, id -> {
+            loads.incrementAndGet();
+            return Optional.of(PRINCIPAL);
+        });
+
+        assertEquals(Optional.of(PRINCIPAL), actual);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "principals")
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    void get_unknownUser_shouldNotCacheMiss() {
+        final AtomicInteger loads = new AtomicInteger();
+
+        testObj.get(USER_ID, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        final Optional<AuthenticatedUser> actual = testObj.get(USER_ID, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertTrue(actual.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_cachedUser_shouldReloadOnNextLookup() {
+        final AtomicInteger loads = new AtomicInteger();
+
+        testObj.get(USER_ID, id -> {
+            loads.incrementAndGet();
+            return Optional.of(PRINCIPAL);
+        });
+        testObj.invalidate(USER_ID);
+        testObj.get(USER_ID, id -> {
+            loads.incrementAndGet();
+            return Optional.of(PRINCIPAL);
+        });
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,101 @@
+package com.eaglebank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AccountLockManagerUTest {
+
+    private static final String ACCOUNT_NUMBER = "01234567";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void constructor_nonPowerOfTwoStripes_shouldRoundUp() {
+        final AccountLockManager actual = new AccountLockManager(100, meterRegistry);
+
+        assertEquals(128, actual.stripeCount());
+    }
+
+    @Test
+    void constructor_invalidStripes_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccountLockManager(0, meterRegistry));
+    }
+
+    @Test
+    void stripeFor_sameAccountNumber_shouldReturnSameStripe() {
+        final AccountLockManager testObj = new AccountLockManager(64, meterRegistry);
+
+        final int stripe = testObj.stripeFor(ACCOUNT_NUMBER);
+
+        assertEquals(stripe, testObj.stripeFor(new String(ACCOUNT_NUMBER)));
+        assertTrue(stripe >= 0 && stripe < 64);
+    }
+
+    @Test
+    void withLock_uncontended_shouldReturnActionResult() {
+        final AccountLockManager testObj = new AccountLockManager(64, meterRegistry);
+
+        final String actual = testObj.withLock(ACCOUNT_NUMBER, () -> "done");
+
+        assertEquals("done", actual);
+        assertEquals(0, totalContended());
+    }
+
+    @Test
+    void withLock_concurrentCallers_shouldSerializeAndCountContention() throws Exception {
+        final AccountLockManager testObj = new AccountLockManager(64, meterRegistry);
+        final CountDownLatch holding = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            executor.submit(() -> testObj.withLock(ACCOUNT_NUMBER, () -> {
+                holding.countDown();
+                await(release);
+                return null;
+            }));
+            holding.await(5, TimeUnit.SECONDS);
+
+            final var waiter = executor.submit(() -> testObj.withLock(ACCOUNT_NUMBER, () -> "second"));
+
+            while (totalContended() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("second", waiter.get(5, TimeUnit.SECONDS));
+            assertEquals(1, totalContended());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double totalContended() {
+        return meterRegistry.find("account.lock.contended")
+                .counters()
+                .stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+        }
+    }
+}
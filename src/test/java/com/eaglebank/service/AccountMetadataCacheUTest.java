@@ -0,0 +1,104 @@
+package com.eaglebank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.dto.AccountType;
+import com.eaglebank.model.AccountMetadata;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.User;
+import com.eaglebank.repository.BankAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AccountMetadataCacheUTest {
+
+    private static final String ACCOUNT_NUMBER = "01234567";
+    private static final String USER_ID = "usr-123456789012";
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AccountMetadataCache testObj;
+
+    @BeforeEach
+    void setUp() {
+        testObj = new AccountMetadataCache(bankAccountRepository, 100, Duration.ofMinutes(10),
+                meterRegistry);
+    }
+
+    @Test
+    void get_repeatedLookups_shouldLoadOnceAndRecordHits() {
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount("Savings")));
+
+        testObj.get(ACCOUNT_NUMBER);
+        final Optional<AccountMetadata> actual = testObj.get(ACCOUNT_NUMBER);
+
+        assertEquals(new AccountMetadata(ACCOUNT_NUMBER, USER_ID, "GBP", "10-10-10",
+                AccountType.PERSONAL, "Savings"), actual.orElseThrow());
+        verify(bankAccountRepository).findById(ACCOUNT_NUMBER);
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "accounts")
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    void get_unknownAccount_shouldNotCacheMiss() {
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(Optional.empty());
+
+        testObj.get(ACCOUNT_NUMBER);
+        final Optional<AccountMetadata> actual = testObj.get(ACCOUNT_NUMBER);
+
+        assertTrue(actual.isEmpty());
+        verify(bankAccountRepository, times(2)).findById(ACCOUNT_NUMBER);
+    }
+
+    @Test
+    void put_updatedAccount_shouldServeNewMetadataWithoutLoading() {
+        testObj.put(bankAccount("Renamed"));
+
+        assertEquals("Renamed", testObj.get(ACCOUNT_NUMBER)
+                .orElseThrow()
+                .name());
+        verifyNoInteractions(bankAccountRepository);
+    }
+
+    @Test
+    void invalidate_cachedAccount_shouldReloadOnNextLookup() {
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount("Savings")), Optional.empty());
+
+        testObj.get(ACCOUNT_NUMBER);
+        testObj.invalidate(ACCOUNT_NUMBER);
+
+        assertTrue(testObj.get(ACCOUNT_NUMBER)
+                .isEmpty());
+    }
+
+    private static BankAccount bankAccount(final String name) {
+        final BankAccount account = new BankAccount(name, AccountType.PERSONAL);
+        final User user = new User();
+        user.setId(USER_ID);
+        account.setAccountNumber(ACCOUNT_NUMBER);
+        account.setUser(user);
+        account.setCurrency("GBP");
+        account.setSortCode("10-10-10");
+        return account;
+    }
+}
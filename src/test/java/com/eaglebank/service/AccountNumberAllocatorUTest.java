@@ -0,0 +1,135 @@
+package com.eaglebank.service;
+
+import static com.eaglebank.service.AccountNumberAllocator.LEASE_NAME;
+import static com.eaglebank.service.AccountNumberAllocator.NAMESPACE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.model.SequenceLease;
+import com.eaglebank.repository.SequenceLeaseRepository;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorUTest {
+
+    @Mock
+    private SequenceLeaseRepository leaseRepository;
+
+    private final SequenceLease lease = new SequenceLease(LEASE_NAME, 0);
+
+    @Test
+    void nextAccountNumber_shouldMatchAccountNumberFormat() {
+        final String actual = allocator(100).nextAccountNumber();
+
+        assertTrue(actual.matches("^01\\d{6}$"));
+    }
+
+    @Test
+    void nextAccountNumber_consecutiveCalls_shouldNotBeSequential() {
+        final AccountNumberAllocator testObj = allocator(100);
+
+        final long first = Long.parseLong(testObj.nextAccountNumber());
+        final long second = Long.parseLong(testObj.nextAccountNumber());
+
+        assertNotEquals(1, Math.abs(second - first));
+    }
+
+    @Test
+    void nextAccountNumber_ninetyPercentOfNamespace_shouldBeUniqueWithOneLeasePerBlock() {
+        final AccountNumberAllocator testObj = allocator(1_000);
+        final int count = (int) (NAMESPACE * 9 / 10);
+        final BitSet seen = new BitSet((int) NAMESPACE);
+
+        for (int i = 0; i < count; i++) {
+            final int suffix = Integer.parseInt(testObj.nextAccountNumber()
+                    .substring(2)) - 100_000;
+
+            assertFalse(seen.get(suffix), "duplicate account number");
+            seen.set(suffix);
+        }
+
+        assertEquals(count, seen.cardinality());
+        verify(leaseRepository, times(count / 1_000)).saveAndFlush(lease);
+    }
+
+    @Test
+    void nextAccountNumber_concurrentCallers_shouldBeUnique() throws Exception {
+        final AccountNumberAllocator testObj = allocator(64);
+        final int threads = 8;
+        final int perThread = 10_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    final List<String> numbers = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(testObj.nextAccountNumber());
+                    }
+                    return numbers;
+                }));
+            }
+
+            final BitSet seen = new BitSet((int) NAMESPACE);
+            for (Future<List<String>> future : futures) {
+                for (String number : future.get()) {
+                    seen.set(Integer.parseInt(number.substring(2)) - 100_000);
+                }
+            }
+
+            assertEquals(threads * perThread, seen.cardinality());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nextAccountNumber_namespaceExhausted_shouldThrowException() {
+        lease.setNextIndex(NAMESPACE - 1);
+        final AccountNumberAllocator testObj = allocator(100);
+
+        testObj.nextAccountNumber();
+
+        assertThrows(IllegalStateException.class, testObj::nextAccountNumber);
+    }
+
+    @Test
+    void permute_wholeNamespace_shouldBeABijection() {
+        final BitSet seen = new BitSet((int) NAMESPACE);
+
+        for (long i = 0; i < NAMESPACE; i++) {
+            seen.set((int) AccountNumberAllocator.permute(i));
+        }
+
+        assertEquals(NAMESPACE, seen.cardinality());
+    }
+
+    private AccountNumberAllocator allocator(final int blockSize) {
+        when(leaseRepository.findLockedByName(LEASE_NAME)).thenAnswer(
+                invocation -> Optional.of(lease));
+        when(leaseRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        return new AccountNumberAllocator(leaseRepository, mock(PlatformTransactionManager.class),
+                blockSize);
+    }
+}
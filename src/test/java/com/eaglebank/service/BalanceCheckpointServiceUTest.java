@@ -0,0 +1,163 @@
+package com.eaglebank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.dto.BalanceResponseDto;
+import com.eaglebank.model.BalanceCheckpoint;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.JobWatermark;
+import com.eaglebank.model.User;
+import com.eaglebank.repository.BalanceCheckpointRepository;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.JobWatermarkRepository;
+import com.eaglebank.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceCheckpointServiceUTest {
+
+    private static final String ACCOUNT_NUMBER = "01000001";
+    private static final String USER_ID = "usr-1";
+    private static final OffsetDateTime AS_OF = OffsetDateTime.parse("2026-03-01T12:00:00Z");
+    private static final OffsetDateTime CHECKPOINT = OffsetDateTime.parse("2026-03-01T11:00:00Z");
+    private static final OffsetDateTime BEGINNING = Instant.EPOCH.atOffset(ZoneOffset.UTC);
+
+    @Mock
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private JobWatermarkRepository watermarkRepository;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BalanceCheckpointService testObj;
+
+    @BeforeEach
+    void setUp() {
+        testObj = new BalanceCheckpointService(balanceCheckpointRepository, ledgerEntryRepository,
+                watermarkRepository, new AccountMetadataCache(bankAccountRepository, 100,
+                Duration.ofMinutes(1), meterRegistry),
+                mock(PlatformTransactionManager.class), Duration.ofMinutes(1),
+                Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @Test
+    void getBalance_withCheckpoint_shouldAddOnlyTheTail() {
+        stubAccount(USER_ID);
+        when(balanceCheckpointRepository
+                .findFirstByAccountNumberAndCheckpointTimestampLessThanEqualOrderByCheckpointTimestampDesc(
+                        ACCOUNT_NUMBER, AS_OF)).thenReturn(Optional.of(
+                new BalanceCheckpoint(ACCOUNT_NUMBER, CHECKPOINT, new BigDecimal("100.00"))));
+        when(ledgerEntryRepository.sumByAccountNumberBetween(ACCOUNT_NUMBER, CHECKPOINT, AS_OF))
+                .thenReturn(new BigDecimal("-25.50"));
+
+        final BalanceResponseDto actual = testObj.getBalance(ACCOUNT_NUMBER, USER_ID, AS_OF);
+
+        assertEquals(new BigDecimal("74.50"), actual.balance());
+        assertEquals("GBP", actual.currency());
+        assertEquals(AS_OF, actual.asOf());
+    }
+
+    @Test
+    void getBalance_withoutCheckpoint_shouldSumWholeHistory() {
+        stubAccount(USER_ID);
+        when(balanceCheckpointRepository
+                .findFirstByAccountNumberAndCheckpointTimestampLessThanEqualOrderByCheckpointTimestampDesc(
+                        ACCOUNT_NUMBER, AS_OF)).thenReturn(Optional.empty());
+        when(ledgerEntryRepository.sumByAccountNumberBetween(ACCOUNT_NUMBER, BEGINNING, AS_OF))
+                .thenReturn(new BigDecimal("12.00"));
+
+        assertEquals(new BigDecimal("12.00"), testObj.getBalance(ACCOUNT_NUMBER, USER_ID, AS_OF)
+                .balance());
+    }
+
+    @Test
+    void getBalance_anotherUsersAccount_shouldThrowException() {
+        stubAccount("usr-2");
+
+        assertThrows(AccessDeniedException.class,
+                () -> testObj.getBalance(ACCOUNT_NUMBER, USER_ID, AS_OF));
+
+        verifyNoInteractions(balanceCheckpointRepository, ledgerEntryRepository);
+    }
+
+    @Test
+    void writeCheckpoints_firstRun_shouldCoverWholeHistoryAndStoreCutoff() {
+        when(watermarkRepository.findLockedByName(BalanceCheckpointService.JOB_NAME)).thenReturn(
+                Optional.empty());
+        when(balanceCheckpointRepository.insertCheckpoints(BEGINNING, AS_OF)).thenReturn(3);
+
+        assertEquals(3, testObj.writeCheckpoints(AS_OF));
+
+        verify(watermarkRepository).saveAndFlush(any());
+        verify(balanceCheckpointRepository, never()).rebuildCheckpoints(any());
+    }
+
+    @Test
+    void writeCheckpoints_lineCommittedBehindCheckpoint_shouldRebuildThatAccount() {
+        final JobWatermark watermark = new JobWatermark(BalanceCheckpointService.JOB_NAME,
+                CHECKPOINT);
+        when(watermarkRepository.findLockedByName(BalanceCheckpointService.JOB_NAME)).thenReturn(
+                Optional.of(watermark));
+        when(balanceCheckpointRepository.insertCheckpoints(CHECKPOINT, AS_OF)).thenReturn(2);
+        when(balanceCheckpointRepository.findStaleAccountNumbersChangedSince(
+                CHECKPOINT.minusMinutes(10))).thenReturn(
+                List.of(ACCOUNT_NUMBER));
+        stubAccount(USER_ID);
+
+        assertEquals(2, testObj.writeCheckpoints(AS_OF));
+
+        assertEquals(AS_OF, watermark.getWatermark());
+        verify(balanceCheckpointRepository).rebuildCheckpoints(ACCOUNT_NUMBER);
+        verify(balanceCheckpointRepository).rebuildCheckpoints("EXTERNAL:GBP");
+        assertEquals(1.0, meterRegistry.counter("balance.checkpoints.rebuilt")
+                .count());
+    }
+
+    @Test
+    void writeCheckpoints_cutoffNotAfterPrevious_shouldWriteNothing() {
+        when(watermarkRepository.findLockedByName(BalanceCheckpointService.JOB_NAME)).thenReturn(
+                Optional.of(new JobWatermark(BalanceCheckpointService.JOB_NAME, AS_OF)));
+
+        assertEquals(0, testObj.writeCheckpoints(CHECKPOINT));
+
+        verifyNoInteractions(balanceCheckpointRepository);
+    }
+
+    private void stubAccount(final String ownerId) {
+        final User owner = new User();
+        owner.setId(ownerId);
+        final BankAccount account = new BankAccount();
+        account.setAccountNumber(ACCOUNT_NUMBER);
+        account.setCurrency("GBP");
+        account.setUser(owner);
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(Optional.of(account));
+    }
+}
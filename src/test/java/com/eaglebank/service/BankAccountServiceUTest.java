@@ -1,5 +1,9 @@
 package com.eaglebank.service;
 
+import org.springframework.test.util.ReflectionTestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import java.time.Duration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import static com.eaglebank.testutils.UserTestCommons.ID;
 import static com.eaglebank.testutils.UserTestCommons.generateUserId;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -8,7 +12,6 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -40,17 +43,27 @@ class BankAccountServiceUTest {
     private static final String ACCOUNT_NAME = "John Doe";
     @Mock
     private BankAccountRepository bankAccountRepository;
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
 
     @InjectMocks
     private BankAccountService testObj;
 
+    private AccountMetadataCache accountMetadataCache;
+
+    @BeforeEach
+    void setUp() {
+        accountMetadataCache = new AccountMetadataCache(bankAccountRepository, 100,
+                Duration.ofMinutes(1), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(testObj, "accountMetadataCache", accountMetadataCache);
+    }
+
     @Test
     void createBankAccount_withAllParams_shouldReturnCreatedBankAccount() {
         final var requestDto = new CreateBankAccountRequestDto(ACCOUNT_NAME, AccountType.PERSONAL);
         final var userId = generateUserId();
 
-        when(bankAccountRepository.existsByAccountNumberAndSortCode(any(), any())).thenReturn(
-                false);
+        when(accountNumberAllocator.nextAccountNumber()).thenReturn(ACCOUNT_NUMBER);
         when(bankAccountRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         final var responseDto = testObj.createBankAccount(requestDto, userId);
@@ -59,7 +72,7 @@ class BankAccountServiceUTest {
         assertEquals(ACCOUNT_NAME, responseDto.name());
         assertEquals(AccountType.PERSONAL, responseDto.accountType());
         assertEquals(BigDecimal.ZERO, responseDto.balance());
-        assertNotNull(responseDto.accountNumber());
+        assertEquals(ACCOUNT_NUMBER, responseDto.accountNumber());
         assertNotNull(responseDto.sortCode());
         assertNotNull(responseDto.createdTimestamp());
         assertNotNull(responseDto.updatedTimestamp());
@@ -82,21 +95,6 @@ class BankAccountServiceUTest {
                 .contains(message));
     }
 
-    @Test
-    void createBankAccount_duplicateAccountNumberSortCode_shouldGenerateANewValueAndCreate() {
-        final var sortCode = "10-10-10";
-
-        when(bankAccountRepository.existsByAccountNumberAndSortCode(any(), eq(sortCode)))
-                .thenReturn(true)
-                .thenReturn(false);
-
-        final var actual = testObj.generateUniqueAccountNumber(sortCode);
-
-        assertNotNull(actual);
-        verify(bankAccountRepository, times(2)).existsByAccountNumberAndSortCode(any(),
-                eq(sortCode));
-    }
-
     @Test
     void getBankAccounts_userId_returnsListOfBankAccounts() {
         final var name1 = "personal bank account 1";
@@ -202,6 +200,8 @@ class BankAccountServiceUTest {
         assertEquals(sortCode, actual.sortCode());
         assertEquals(now, actual.createdTimestamp());
         assertEquals(now, actual.updatedTimestamp());
+        // Ownership is checked on the loaded account rather than through the metadata cache
+        verify(bankAccountRepository, times(1)).findById(accountNumber);
     }
 
     @Test
@@ -241,6 +241,7 @@ class BankAccountServiceUTest {
     void updateBankAccount_withParams_shouldReturnUpdatedBankAccount() {
         final var requestDto = new UpdateBankAccountRequestDto(ACCOUNT_NAME, AccountType.PERSONAL);
         final BankAccount bankAccount = new BankAccount();
+        bankAccount.setAccountNumber(ACCOUNT_NUMBER);
         final User user = new User();
         user.setId(ID);
         bankAccount.setUser(user);
@@ -254,6 +255,7 @@ class BankAccountServiceUTest {
         assertEquals(ACCOUNT_NAME, responseDto.name());
         assertEquals(AccountType.PERSONAL, responseDto.accountType());
 
+        verify(bankAccountRepository, times(1)).findById(ACCOUNT_NUMBER);
         verify(bankAccountRepository).save(any());
     }
 
@@ -0,0 +1,212 @@
+package com.eaglebank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.eaglebank.exception.TooManyRequestsException;
+import com.eaglebank.exception.UnprocessableEntityException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitterUTest {
+
+    private static final int MAX_BATCH = 3;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(MAX_BATCH);
+
+    private GroupCommitter testObj;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(
+                invocation -> new SimpleTransactionStatus());
+        // Long enough that only a full batch triggers the commit
+        testObj = new GroupCommitter(new TransactionTemplate(transactionManager), MAX_BATCH,
+                Duration.ofSeconds(10), TIMEOUT, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        testObj.stop();
+    }
+
+    @Test
+    void submit_concurrentPostings_shouldShareOneCommit() throws Exception {
+        final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        final List<Future<String>> results = new ArrayList<>();
+
+        for (String key : List.of("b", "c", "a")) {
+            results.add(callers.submit(() -> testObj.submit(key, () -> {
+                ran.add(key);
+                return key + "-posted";
+            })));
+        }
+
+        assertEquals("b-posted", results.get(0)
+                .get(5, TimeUnit.SECONDS));
+        assertEquals("c-posted", results.get(1)
+                .get(5, TimeUnit.SECONDS));
+        assertEquals("a-posted", results.get(2)
+                .get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a", "b", "c"), ran);
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(1.0, meterRegistry.counter("transactions.group-commit.commits")
+                .count());
+        assertEquals(3.0, meterRegistry.counter("transactions.group-commit.postings")
+                .count());
+    }
+
+    @Test
+    void submit_failingPosting_shouldCommitOthersTogetherAndFailOnlyItsCaller() throws Exception {
+        final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        final Future<String> first = callers.submit(() -> testObj.submit("a", () -> {
+            ran.add("a");
+            return "a-posted";
+        }));
+        final Future<String> failing = callers.submit(() -> testObj.submit("b", () -> {
+            ran.add("b");
+            throw new UnprocessableEntityException("Insufficient funds");
+        }));
+        final Future<String> last = callers.submit(() -> testObj.submit("c", () -> {
+            ran.add("c");
+            return "c-posted";
+        }));
+
+        assertEquals("a-posted", first.get(5, TimeUnit.SECONDS));
+        assertEquals("c-posted", last.get(5, TimeUnit.SECONDS));
+        final ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> failing.get(5, TimeUnit.SECONDS));
+        assertEquals(UnprocessableEntityException.class, thrown.getCause()
+                .getClass());
+
+        // a and c still share one commit; b's group attempt and its own attempt roll back
+        assertEquals(List.of("a", "b", "a", "c", "b"), ran);
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(2)).rollback(any());
+        assertEquals(1.0, meterRegistry.counter("transactions.group-commit.commits")
+                .count());
+        assertEquals(2.0, meterRegistry.counter("transactions.group-commit.postings")
+                .count());
+    }
+
+    @Test
+    void submit_commitFails_shouldRetryEachPostingAlone() throws Exception {
+        doThrow(new CannotCreateTransactionException("connection lost")).doNothing()
+                .when(transactionManager)
+                .commit(any());
+        final List<Future<String>> results = new ArrayList<>();
+
+        for (String key : List.of("a", "b", "c")) {
+            results.add(callers.submit(() -> testObj.submit(key, () -> key + "-posted")));
+        }
+
+        for (Future<String> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        verify(transactionManager, times(4)).commit(any());
+        assertEquals(3.0, meterRegistry.counter("transactions.group-commit.commits")
+                .count());
+    }
+
+    @Test
+    void submit_noOtherPostings_shouldCommitAfterMaxLatency() {
+        final GroupCommitter committer = new GroupCommitter(
+                new TransactionTemplate(transactionManager), MAX_BATCH, Duration.ofMillis(1),
+                TIMEOUT, meterRegistry);
+
+        try {
+            assertEquals("posted", committer.submit("a", () -> "posted"));
+            verify(transactionManager, times(1)).commit(any());
+        } finally {
+            committer.stop();
+        }
+    }
+
+    @Test
+    void submit_workThrowsError_shouldFailOnlyItsGroup() {
+        final GroupCommitter committer = new GroupCommitter(
+                new TransactionTemplate(transactionManager), MAX_BATCH, Duration.ofMillis(1),
+                TIMEOUT, meterRegistry);
+
+        try {
+            final IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                    () -> committer.submit("a", () -> {
+                        throw new AssertionError("broken posting");
+                    }));
+
+            assertEquals(AssertionError.class, thrown.getCause()
+                    .getClass());
+            assertEquals("posted", committer.submit("b", () -> "posted"));
+        } finally {
+            committer.stop();
+        }
+    }
+
+    @Test
+    void submit_stillQueuedAfterTimeout_shouldWithdrawPosting() {
+        final GroupCommitter committer = new GroupCommitter(
+                new TransactionTemplate(transactionManager), MAX_BATCH, Duration.ofSeconds(10),
+                Duration.ofMillis(50), meterRegistry);
+        final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            assertThrows(TooManyRequestsException.class, () -> committer.submit("a", () -> {
+                ran.add("a");
+                return "posted";
+            }));
+        } finally {
+            committer.stop();
+        }
+        assertEquals(List.of(), ran);
+        verify(transactionManager, times(0)).commit(any());
+    }
+
+    @Test
+    void submit_afterStop_shouldThrowException() {
+        testObj.stop();
+
+        assertThrows(IllegalStateException.class, () -> testObj.submit("a", () -> "posted"));
+    }
+
+    @Test
+    void constructor_zeroMaxBatch_shouldThrowException() {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(
+                transactionManager);
+        final Duration maxLatency = Duration.ofMillis(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new GroupCommitter(transactionTemplate, 0, maxLatency, TIMEOUT,
+                        meterRegistry));
+    }
+}
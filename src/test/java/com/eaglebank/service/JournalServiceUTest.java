@@ -0,0 +1,258 @@
+package com.eaglebank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.dto.CreateJournalEntryRequestDto;
+import com.eaglebank.dto.JournalEntryResponseDto;
+import com.eaglebank.dto.JournalLegDto;
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.exception.UnprocessableEntityException;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.User;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class JournalServiceUTest {
+
+    private static final String CURRENCY = "GBP";
+    private static final String REFERENCE = "Payroll";
+    private static final String USER_ID = "usr-1";
+    private static final String EMPLOYER = "01000001";
+    private static final String EMPLOYEE_A = "01000002";
+    private static final String EMPLOYEE_B = "01000003";
+    private static final String REJECTED_CREDIT = "A credit leg cannot be posted to its account";
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TransactionIdGenerator transactionIdGenerator = new TransactionIdGenerator(0,
+            System::currentTimeMillis);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(
+            mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private JournalService testObj;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(testObj, "accountMetadataCache",
+                new AccountMetadataCache(bankAccountRepository, 100, Duration.ofMinutes(1),
+                        new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void createJournalEntry_balancedLegs_shouldApplyEveryLeg() {
+        final BankAccount employer = buildAccount(EMPLOYER, USER_ID, "100.00");
+        final BankAccount employeeA = buildAccount(EMPLOYEE_A, "usr-2", "0.00");
+        final BankAccount employeeB = buildAccount(EMPLOYEE_B, "usr-3", "5.00");
+        when(bankAccountRepository.findById(EMPLOYER)).thenReturn(Optional.of(employer));
+        when(bankAccountRepository.findAllLockedByAccountNumberIn(any())).thenReturn(
+                List.of(employer, employeeA, employeeB));
+
+        final JournalEntryResponseDto actual = testObj.createJournalEntry(USER_ID,
+                buildRequest(leg(EMPLOYEE_B, "30.00"), leg(EMPLOYER, "-70.00"),
+                        leg(EMPLOYEE_A, "40.00")));
+
+        assertEquals(3, actual.legs());
+        assertEquals(0, new BigDecimal("70.00").compareTo(actual.amount()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(employer.getBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(employeeA.getBalance()));
+        assertEquals(0, new BigDecimal("35.00").compareTo(employeeB.getBalance()));
+
+        final ArgumentCaptor<List<Transaction>> saved = captor();
+        verify(transactionRepository).saveAll(saved.capture());
+        assertEquals(List.of(TransactionType.WITHDRAWAL, TransactionType.DEPOSIT,
+                TransactionType.DEPOSIT), saved.getValue()
+                .stream()
+                .map(Transaction::getType)
+                .toList());
+        verify(ledgerService).append(any(), eq(saved.getValue()));
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void createJournalEntry_moreLegsThanChunk_shouldLockAndFlushInAccountOrder() {
+        ReflectionTestUtils.setField(testObj, "chunkSize", 2);
+        final BankAccount employer = buildAccount(EMPLOYER, USER_ID, "100.00");
+        when(bankAccountRepository.findById(EMPLOYER)).thenReturn(Optional.of(employer));
+        when(bankAccountRepository.findAllLockedByAccountNumberIn(List.of(EMPLOYER, EMPLOYEE_A)))
+                .thenReturn(List.of(employer, buildAccount(EMPLOYEE_A, "usr-2", "0.00")));
+        when(bankAccountRepository.findAllLockedByAccountNumberIn(List.of(EMPLOYEE_B)))
+                .thenReturn(List.of(buildAccount(EMPLOYEE_B, "usr-3", "0.00")));
+
+        testObj.createJournalEntry(USER_ID, buildRequest(leg(EMPLOYEE_B, "1.00"),
+                leg(EMPLOYEE_A, "1.00"), leg(EMPLOYER, "-2.00")));
+
+        final InOrder inOrder = inOrder(bankAccountRepository, entityManager);
+        inOrder.verify(bankAccountRepository)
+                .findAllLockedByAccountNumberIn(List.of(EMPLOYER, EMPLOYEE_A));
+        inOrder.verify(entityManager)
+                .clear();
+        inOrder.verify(bankAccountRepository)
+                .findAllLockedByAccountNumberIn(List.of(EMPLOYEE_B));
+        inOrder.verify(entityManager)
+                .clear();
+    }
+
+    @Test
+    void createJournalEntry_unbalancedLegs_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> testObj.createJournalEntry(USER_ID,
+                        buildRequest(leg(EMPLOYEE_A, "1.00"), leg(EMPLOYEE_B, "1.00"))));
+
+        verifyNoInteractions(bankAccountRepository, transactionRepository);
+    }
+
+    @Test
+    void createJournalEntry_moreLegsThanAllowed_shouldThrowException() {
+        ReflectionTestUtils.setField(testObj, "maxLegs", 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> testObj.createJournalEntry(USER_ID, buildRequest(leg(EMPLOYEE_A, "1.00"),
+                        leg(EMPLOYEE_B, "1.00"), leg(EMPLOYER, "-2.00"))));
+
+        verifyNoInteractions(bankAccountRepository, transactionRepository);
+    }
+
+    @Test
+    void createJournalEntry_zeroLeg_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> testObj.createJournalEntry(USER_ID,
+                        buildRequest(leg(EMPLOYEE_A, "0.00"), leg(EMPLOYEE_B, "0.00"))));
+    }
+
+    @Test
+    void createJournalEntry_repeatedAccount_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> testObj.createJournalEntry(USER_ID,
+                        buildRequest(leg(EMPLOYEE_A, "1.00"), leg(EMPLOYEE_A, "-1.00"))));
+
+        verifyNoInteractions(bankAccountRepository);
+    }
+
+    @Test
+    void createJournalEntry_debitOnAnotherUsersAccount_shouldThrowException() {
+        when(bankAccountRepository.findById(EMPLOYEE_A)).thenReturn(
+                Optional.of(buildAccount(EMPLOYEE_A, "usr-2", "100.00")));
+
+        assertThrows(AccessDeniedException.class,
+                () -> testObj.createJournalEntry(USER_ID,
+                        buildRequest(leg(EMPLOYEE_A, "-1.00"), leg(EMPLOYER, "1.00"))));
+
+        verify(bankAccountRepository, times(0)).findAllLockedByAccountNumberIn(any());
+    }
+
+    @Test
+    void createJournalEntry_insufficientFunds_shouldThrowException() {
+        final BankAccount employer = buildAccount(EMPLOYER, USER_ID, "10.00");
+        when(bankAccountRepository.findById(EMPLOYER)).thenReturn(Optional.of(employer));
+        when(bankAccountRepository.findAllLockedByAccountNumberIn(any())).thenReturn(
+                List.of(employer, buildAccount(EMPLOYEE_A, "usr-2", "0.00")));
+
+        assertThrows(UnprocessableEntityException.class,
+                () -> testObj.createJournalEntry(USER_ID,
+                        buildRequest(leg(EMPLOYER, "-10.01"), leg(EMPLOYEE_A, "10.01"))));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void createJournalEntry_unknownCreditAccount_shouldThrowException() {
+        final BankAccount employer = buildAccount(EMPLOYER, USER_ID, "10.00");
+        when(bankAccountRepository.findById(EMPLOYER)).thenReturn(Optional.of(employer));
+        when(bankAccountRepository.findAllLockedByAccountNumberIn(any())).thenReturn(
+                List.of(employer));
+
+        final IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> testObj.createJournalEntry(USER_ID,
+                        buildRequest(leg(EMPLOYER, "-1.00"), leg(EMPLOYEE_A, "1.00"))));
+
+        assertEquals(REJECTED_CREDIT, actual.getMessage());
+    }
+
+    @Test
+    void createJournalEntry_creditInAnotherCurrency_shouldThrowException() {
+        final BankAccount employer = buildAccount(EMPLOYER, USER_ID, "10.00");
+        final BankAccount employee = buildAccount(EMPLOYEE_A, "usr-2", "0.00");
+        employee.setCurrency("EUR");
+        when(bankAccountRepository.findById(EMPLOYER)).thenReturn(Optional.of(employer));
+        when(bankAccountRepository.findAllLockedByAccountNumberIn(any())).thenReturn(
+                List.of(employer, employee));
+
+        final IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> testObj.createJournalEntry(USER_ID,
+                        buildRequest(leg(EMPLOYER, "-1.00"), leg(EMPLOYEE_A, "1.00"))));
+
+        assertEquals(REJECTED_CREDIT, actual.getMessage());
+    }
+
+    private static CreateJournalEntryRequestDto buildRequest(final JournalLegDto... legs) {
+        return new CreateJournalEntryRequestDto(CURRENCY, REFERENCE,
+                new ArrayList<>(List.of(legs)));
+    }
+
+    private static JournalLegDto leg(final String accountNumber, final String amount) {
+        return new JournalLegDto(accountNumber, new BigDecimal(amount), null);
+    }
+
+    private static BankAccount buildAccount(final String accountNumber, final String ownerId,
+            final String balance) {
+        final User owner = new User();
+        owner.setId(ownerId);
+        final BankAccount bankAccount = new BankAccount();
+        bankAccount.setAccountNumber(accountNumber);
+        bankAccount.setCurrency(CURRENCY);
+        bankAccount.setBalance(new BigDecimal(balance));
+        bankAccount.setUser(owner);
+        return bankAccount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Transaction>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,183 @@
+package com.eaglebank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.dto.TransactionType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.LedgerEntry;
+import com.eaglebank.model.LedgerJournal;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.LedgerEntryRepository;
+import com.eaglebank.repository.LedgerJournalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceUTest {
+
+    private static final String ACCOUNT_NUMBER = "01000001";
+    private static final String OTHER_ACCOUNT_NUMBER = "01000002";
+    private static final String CURRENCY = "GBP";
+
+    @Mock
+    private LedgerJournalRepository ledgerJournalRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    private LedgerService testObj;
+
+    @BeforeEach
+    void setUp() {
+        testObj = new LedgerService(ledgerJournalRepository, ledgerEntryRepository,
+                bankAccountRepository, new TransactionIdGenerator(0, System::currentTimeMillis),
+                mock(PlatformTransactionManager.class), 4, false, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void record_deposit_shouldBalanceAgainstExternalAccount() {
+        stubJournalSave();
+
+        final String journalId = testObj.record("ref",
+                List.of(buildTransaction("tan-1", ACCOUNT_NUMBER, TransactionType.DEPOSIT,
+                        "10.00")));
+
+        final List<LedgerEntry> entries = savedEntries(2);
+        assertEquals("tan-1", entries.getFirst()
+                .getId());
+        assertEquals(ACCOUNT_NUMBER, entries.getFirst()
+                .getAccountNumber());
+        assertEquals(0, new BigDecimal("10.00").compareTo(entries.getFirst()
+                .getAmount()));
+        assertEquals(journalId + ":" + CURRENCY, entries.getLast()
+                .getId());
+        assertEquals(LedgerService.EXTERNAL_ACCOUNT_PREFIX + CURRENCY, entries.getLast()
+                .getAccountNumber());
+        assertEquals(0, new BigDecimal("-10.00").compareTo(entries.getLast()
+                .getAmount()));
+    }
+
+    @Test
+    void record_transfer_shouldNotTouchExternalAccount() {
+        stubJournalSave();
+
+        testObj.record("ref", List.of(
+                buildTransaction("tan-1", ACCOUNT_NUMBER, TransactionType.WITHDRAWAL, "5.00"),
+                buildTransaction("tan-2", OTHER_ACCOUNT_NUMBER, TransactionType.DEPOSIT,
+                        "5.00")));
+
+        final List<LedgerEntry> entries = savedEntries(2);
+        assertEquals(0, new BigDecimal("-5.00").compareTo(entries.getFirst()
+                .getAmount()));
+        assertEquals(0, new BigDecimal("5.00").compareTo(entries.get(1)
+                .getAmount()));
+        assertEquals(OTHER_ACCOUNT_NUMBER, entries.getLast()
+                .getAccountNumber());
+        assertTrue(savedBalancingEntries().isEmpty());
+    }
+
+    @Test
+    void verify_mismatchesInSeveralRanges_shouldCollectAllOfThem() {
+        when(ledgerEntryRepository.findMismatchedAccountNumbers(any(), any())).thenReturn(
+                List.of());
+        when(ledgerEntryRepository.findMismatchedAccountNumbers("", "01250000")).thenReturn(
+                List.of(ACCOUNT_NUMBER));
+        when(ledgerEntryRepository.findMismatchedAccountNumbers("01750000", "02")).thenReturn(
+                List.of("01999999"));
+        when(ledgerJournalRepository.findUnbalancedJournalIds()).thenReturn(List.of());
+
+        final LedgerService.Verification actual = testObj.verify();
+
+        assertFalse(actual.isConsistent());
+        assertEquals(List.of(ACCOUNT_NUMBER, "01999999"), actual.mismatchedAccounts());
+        verify(ledgerEntryRepository).findMismatchedAccountNumbers("01250000", "01500000");
+        verify(ledgerEntryRepository).findMismatchedAccountNumbers("01500000", "01750000");
+    }
+
+    @Test
+    void verify_everythingBalances_shouldBeConsistent() {
+        when(ledgerEntryRepository.findMismatchedAccountNumbers(any(), any())).thenReturn(
+                List.of());
+        when(ledgerJournalRepository.findUnbalancedJournalIds()).thenReturn(List.of());
+
+        assertTrue(testObj.verify()
+                .isConsistent());
+        verify(ledgerEntryRepository, times(4)).findMismatchedAccountNumbers(any(), any());
+    }
+
+    @Test
+    void rebuildBalance_account_shouldResetToLedgerSum() {
+        final BankAccount account = new BankAccount();
+        account.setAccountNumber(ACCOUNT_NUMBER);
+        account.setBalance(new BigDecimal("99.00"));
+        when(bankAccountRepository.findLockedByAccountNumber(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(account));
+        when(ledgerEntryRepository.sumByAccountNumber(ACCOUNT_NUMBER)).thenReturn(
+                new BigDecimal("42.00"));
+
+        assertEquals(new BigDecimal("42.00"), testObj.rebuildBalance(ACCOUNT_NUMBER));
+        assertEquals(new BigDecimal("42.00"), account.getBalance());
+    }
+
+    private void stubJournalSave() {
+        when(ledgerJournalRepository.save(any())).thenAnswer(
+                invocation -> invocation.getArgument(0));
+        when(ledgerJournalRepository.getReferenceById(any())).thenAnswer(
+                invocation -> new LedgerJournal(invocation.getArgument(0), null,
+                        OffsetDateTime.now()));
+    }
+
+    private List<LedgerEntry> savedEntries(final int calls) {
+        final ArgumentCaptor<List<LedgerEntry>> captor = captor();
+        verify(ledgerEntryRepository, times(calls)).saveAll(captor.capture());
+        final List<LedgerEntry> entries = new ArrayList<>();
+        captor.getAllValues()
+                .forEach(entries::addAll);
+        return entries;
+    }
+
+    private List<LedgerEntry> savedBalancingEntries() {
+        final ArgumentCaptor<List<LedgerEntry>> captor = captor();
+        verify(ledgerEntryRepository, times(2)).saveAll(captor.capture());
+        return captor.getAllValues()
+                .getLast();
+    }
+
+    private static Transaction buildTransaction(final String id, final String accountNumber,
+            final TransactionType type, final String amount) {
+        final BankAccount account = new BankAccount();
+        account.setAccountNumber(accountNumber);
+        final Transaction transaction = new Transaction(new BigDecimal(amount), CURRENCY, type,
+                "ref", OffsetDateTime.now());
+        transaction.setId(id);
+        transaction.setBankAccount(account);
+        return transaction;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<LedgerEntry>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,32 @@
+package com.eaglebank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionCursorUTest {
+
+    @Test
+    void encodeAndDecode_shouldRoundTrip() {
+        final TransactionCursor cursor = new TransactionCursor(
+                OffsetDateTime.of(2025, 7, 1, 10, 15, 30, 123_456_000, ZoneOffset.UTC), "tan-abc123");
+
+        assertEquals(cursor, TransactionCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_malformedCursor_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("%%%"));
+    }
+
+    @Test
+    void decode_missingSeparator_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("dGFuLTE"));
+    }
+}
@@ -0,0 +1,172 @@
+package com.eaglebank.service;
+
+import static com.eaglebank.service.TransactionIdGenerator.EPOCH_MILLIS;
+import static com.eaglebank.service.TransactionIdGenerator.NODE_LEASE_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.model.SequenceLease;
+import com.eaglebank.repository.SequenceLeaseRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionIdGeneratorUTest {
+
+    private static final long NOW = EPOCH_MILLIS + 86_400_000L * 200;
+
+    @Mock
+    private SequenceLeaseRepository leaseRepository;
+
+    @Test
+    void nextId_shouldMatchTransactionIdFormat() {
+        final TransactionIdGenerator testObj = new TransactionIdGenerator(7,
+                System::currentTimeMillis);
+
+        final String actual = testObj.nextId();
+
+        assertTrue(actual.matches("^tan-[A-Za-z0-9]{11}$"), actual);
+    }
+
+    @Test
+    void nextJournalId_shouldMatchJournalIdFormatAndShareSequence() {
+        final TransactionIdGenerator testObj = new TransactionIdGenerator(7, () -> NOW);
+
+        final String transactionId = testObj.nextId();
+        final String journalId = testObj.nextJournalId();
+
+        assertTrue(journalId.matches("^jnl-[A-Za-z0-9]{11}$"), journalId);
+        assertTrue(journalId.substring(4)
+                .compareTo(transactionId.substring(4)) > 0);
+    }
+
+    @Test
+    void nextId_frozenClock_shouldStayUniqueAndIncreasing() {
+        final TransactionIdGenerator testObj = new TransactionIdGenerator(1, () -> NOW);
+        String previous = testObj.nextId();
+
+        // More ids than one millisecond's sequence holds
+        for (int i = 0; i < 10_000; i++) {
+            final String next = testObj.nextId();
+
+            assertTrue(next.compareTo(previous) > 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_clockStepsBack_shouldStayIncreasing() {
+        final AtomicLong clock = new AtomicLong(NOW);
+        final TransactionIdGenerator testObj = new TransactionIdGenerator(1, clock::get);
+
+        final String beforeStep = testObj.nextId();
+        clock.addAndGet(-5_000);
+        final String afterStep = testObj.nextId();
+
+        assertTrue(afterStep.compareTo(beforeStep) > 0);
+    }
+
+    @Test
+    void nextId_laterMillisecond_shouldSortAfterEarlierOne() {
+        final AtomicLong clock = new AtomicLong(NOW);
+        final TransactionIdGenerator testObj = new TransactionIdGenerator(1023, clock::get);
+
+        final long earlier = testObj.nextValue();
+        clock.incrementAndGet();
+        final long later = testObj.nextValue();
+
+        assertTrue(later > earlier);
+        assertTrue(TransactionIdGenerator.encode(later)
+                .compareTo(TransactionIdGenerator.encode(earlier)) > 0);
+    }
+
+    @Test
+    void nextId_twoNodesSameClock_shouldNeverCollide() {
+        final TransactionIdGenerator first = new TransactionIdGenerator(1, () -> NOW);
+        final TransactionIdGenerator second = new TransactionIdGenerator(2, () -> NOW);
+        final long[] ids = new long[20_000];
+
+        for (int i = 0; i < ids.length; i += 2) {
+            ids[i] = first.nextValue();
+            ids[i + 1] = second.nextValue();
+        }
+
+        assertEquals(ids.length, Arrays.stream(ids)
+                .distinct()
+                .count());
+    }
+
+    @Test
+    void nextId_concurrentCallers_shouldBeUniqueAndIncreasingPerThread() throws Exception {
+        final TransactionIdGenerator testObj = new TransactionIdGenerator(3,
+                System::currentTimeMillis);
+        final int threads = 8;
+        final int perThread = 100_000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<long[]>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    final long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = testObj.nextValue();
+                        assertTrue(i == 0 || ids[i] > ids[i - 1]);
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            final long[] all = new long[threads * perThread];
+            for (int t = 0; t < threads; t++) {
+                System.arraycopy(results.get(t)
+                        .get(), 0, all, t * perThread, perThread);
+            }
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertTrue(all[i] != all[i - 1], "duplicate id");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_nodeIdOutOfRange_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TransactionIdGenerator(1024, System::currentTimeMillis));
+    }
+
+    @Test
+    void constructor_noConfiguredNodeId_shouldLeaseOne() {
+        final SequenceLease lease = new SequenceLease(NODE_LEASE_NAME, 1029);
+        when(leaseRepository.findLockedByName(NODE_LEASE_NAME)).thenReturn(Optional.of(lease));
+
+        final TransactionIdGenerator testObj = new TransactionIdGenerator(-1, leaseRepository,
+                mock(PlatformTransactionManager.class));
+
+        assertEquals(1030, lease.getNextIndex());
+        verify(leaseRepository).saveAndFlush(lease);
+        // 1029 % 1024 = 5
+        assertEquals(5, testObj.nextValue() >> 12 & 1023);
+    }
+}
@@ -3,10 +3,13 @@ package com.eaglebank.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,24 +17,44 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.eaglebank.dto.CreateTransactionRequestDto;
+import com.eaglebank.dto.CreateTransferRequestDto;
+import com.eaglebank.dto.TransactionBatchItemStatus;
+import com.eaglebank.dto.TransactionBatchResponseDto;
+import com.eaglebank.dto.TransactionPageResponseDto;
 import com.eaglebank.dto.TransactionResponseDto;
 import com.eaglebank.dto.TransactionType;
+import com.eaglebank.dto.TransferResponseDto;
+import com.eaglebank.exception.UnprocessableEntityException;
 import com.eaglebank.model.BankAccount;
 import com.eaglebank.model.Transaction;
 import com.eaglebank.model.User;
 import com.eaglebank.repository.BankAccountRepository;
 import com.eaglebank.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceUTest {
@@ -41,17 +64,139 @@ class TransactionServiceUTest {
     private static final String REFERENCE = "ref";
     private static final OffsetDateTime NOW = OffsetDateTime.now();
     private static final String ACCOUNT_NUMBER = "1890231";
+    private static final String OTHER_ACCOUNT_NUMBER = "1890232";
     private static final String USER_ID = "1L";
     private static final String TRANSACTION_ID = "1234";
+    private static final String IDEMPOTENCY_KEY = "key-1";
     @Mock
     private BankAccountRepository bankAccountRepository;
 
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private GroupCommitter groupCommitter;
+
+    @Spy
+    private AccountLockManager accountLockManager = new AccountLockManager(4,
+            new SimpleMeterRegistry());
+
+    @Spy
+    private TransactionIdGenerator transactionIdGenerator = new TransactionIdGenerator(0,
+            System::currentTimeMillis);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(
+            mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private TransactionService testObj;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(testObj, "postingMode", PostingMode.LOCKING);
+        ReflectionTestUtils.setField(testObj, "accountMetadataCache",
+                new AccountMetadataCache(bankAccountRepository, 100, Duration.ofMinutes(1),
+                        new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void createTransaction_atomicMode_shouldApplyDeltaWithoutLoadingAccount() {
+        ReflectionTestUtils.setField(testObj, "postingMode", PostingMode.ATOMIC);
+
+        when(bankAccountRepository.applyBalanceDelta(eq(ACCOUNT_NUMBER), eq(USER_ID),
+                eq(CURRENCY), eq(AMOUNT.negate()), any())).thenReturn(1);
+        when(bankAccountRepository.getReferenceById(ACCOUNT_NUMBER)).thenReturn(
+                new BankAccount());
+
+        final TransactionResponseDto actual = testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransactionRequestDto(AMOUNT, CURRENCY, TransactionType.WITHDRAWAL,
+                        REFERENCE));
+
+        assertEquals(AMOUNT, actual.amount());
+        assertEquals(TransactionType.WITHDRAWAL, actual.type());
+        verify(bankAccountRepository, times(0)).findById(any());
+        verify(bankAccountRepository, times(0)).save(any());
+        verify(transactionRepository).save(any());
+        verify(ledgerService).record(eq("posting:" + actual.id()), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createTransaction_groupCommitMode_shouldSubmitAtomicPostingForAccount() {
+        ReflectionTestUtils.setField(testObj, "postingMode", PostingMode.GROUP_COMMIT);
+
+        when(groupCommitter.submit(eq(ACCOUNT_NUMBER), any())).thenAnswer(
+                invocation -> invocation.getArgument(1, Supplier.class)
+                        .get());
+        when(bankAccountRepository.applyBalanceDelta(eq(ACCOUNT_NUMBER), eq(USER_ID),
+                eq(CURRENCY), eq(AMOUNT), any())).thenReturn(1);
+        when(bankAccountRepository.getReferenceById(ACCOUNT_NUMBER)).thenReturn(
+                new BankAccount());
+
+        final TransactionResponseDto actual = testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransactionRequestDto(AMOUNT, CURRENCY, TransactionType.DEPOSIT,
+                        REFERENCE));
+
+        assertEquals(AMOUNT, actual.amount());
+        verify(transactionTemplate, times(0)).execute(any());
+        verify(transactionRepository).save(any());
+    }
+
+    @Test
+    void createTransaction_atomicModeWithNoFunds_shouldThrowException() {
+        ReflectionTestUtils.setField(testObj, "postingMode", PostingMode.ATOMIC);
+        final BankAccount bankAccount = new BankAccount();
+        bankAccount.setBalance(BigDecimal.ZERO);
+        final User user = new User();
+        user.setId(USER_ID);
+        bankAccount.setUser(user);
+        bankAccount.setCurrency(CURRENCY);
+
+        when(bankAccountRepository.applyBalanceDelta(eq(ACCOUNT_NUMBER), eq(USER_ID),
+                eq(CURRENCY), eq(AMOUNT.negate()), any())).thenReturn(0);
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+
+        final var actual = assertThrows(UnprocessableEntityException.class,
+                () -> testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                        new CreateTransactionRequestDto(AMOUNT, CURRENCY,
+                                TransactionType.WITHDRAWAL, REFERENCE)));
+
+        assertTrue(actual.getMessage()
+                .contains("Insufficient funds"));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void createTransaction_atomicModeWithADifferentUserId_shouldThrowException() {
+        ReflectionTestUtils.setField(testObj, "postingMode", PostingMode.ATOMIC);
+        final BankAccount bankAccount = new BankAccount();
+        bankAccount.setBalance(AMOUNT);
+        final User user = new User();
+        user.setId("3L");
+        bankAccount.setUser(user);
+        bankAccount.setCurrency(CURRENCY);
+
+        when(bankAccountRepository.applyBalanceDelta(eq(ACCOUNT_NUMBER), eq(USER_ID),
+                eq(CURRENCY), eq(AMOUNT), any())).thenReturn(0);
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+
+        assertThrows(AccessDeniedException.class,
+                () -> testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                        new CreateTransactionRequestDto(AMOUNT, CURRENCY,
+                                TransactionType.DEPOSIT, REFERENCE)));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
     @Test
     void createTransaction_withAlLParamsAndDeposit_shouldReturnTransaction() {
         final BankAccount bankAccount = new BankAccount();
@@ -100,6 +245,144 @@ class TransactionServiceUTest {
         assertEquals(REFERENCE, actual.reference());
     }
 
+    @Test
+    void createTransaction_withAllParams_shouldPostUnderAccountLock() {
+        final BankAccount bankAccount = new BankAccount();
+        bankAccount.setBalance(AMOUNT);
+        final User user = new User();
+        user.setId(USER_ID);
+        bankAccount.setUser(user);
+        bankAccount.setCurrency(CURRENCY);
+
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+
+        testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransactionRequestDto(AMOUNT, CURRENCY, TransactionType.DEPOSIT,
+                        REFERENCE));
+
+        verify(accountLockManager).withLock(eq(ACCOUNT_NUMBER), any());
+        verify(transactionTemplate).execute(any());
+    }
+
+    @Test
+    void createTransaction_knownIdempotencyKey_shouldReplayWithoutPosting() {
+        final TransactionResponseDto previous = new TransactionResponseDto(TRANSACTION_ID, AMOUNT,
+                CURRENCY, TransactionType.DEPOSIT, REFERENCE, USER_ID, NOW);
+        when(idempotencyStore.find(USER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.of(
+                new IdempotencyStore.StoredResult(ACCOUNT_NUMBER, previous)));
+
+        final TransactionResponseDto actual = testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransactionRequestDto(new BigDecimal("1.00"), CURRENCY,
+                        TransactionType.DEPOSIT, REFERENCE), IDEMPOTENCY_KEY);
+
+        assertEquals(previous, actual);
+        verifyNoInteractions(bankAccountRepository, transactionRepository, transactionTemplate);
+    }
+
+    @Test
+    void createTransaction_idempotencyKeyReusedForDifferentRequest_shouldThrowException() {
+        when(idempotencyStore.find(USER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.of(
+                new IdempotencyStore.StoredResult(ACCOUNT_NUMBER, new TransactionResponseDto(
+                        TRANSACTION_ID, BigDecimal.TEN, CURRENCY, TransactionType.DEPOSIT,
+                        REFERENCE, USER_ID, NOW))));
+
+        assertThrows(UnprocessableEntityException.class,
+                () -> testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                        new CreateTransactionRequestDto(AMOUNT, CURRENCY,
+                                TransactionType.DEPOSIT, REFERENCE), IDEMPOTENCY_KEY));
+
+        verifyNoInteractions(bankAccountRepository, transactionRepository);
+    }
+
+    @Test
+    void createTransaction_newIdempotencyKey_shouldRecordKeyWithPosting() {
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(buildOwnedBankAccount()));
+
+        final TransactionResponseDto actual = testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransactionRequestDto(AMOUNT, CURRENCY, TransactionType.DEPOSIT,
+                        REFERENCE), IDEMPOTENCY_KEY);
+
+        verify(idempotencyStore).record(eq(USER_ID), eq(IDEMPOTENCY_KEY), any());
+        verify(idempotencyStore).remember(USER_ID, IDEMPOTENCY_KEY, ACCOUNT_NUMBER, actual);
+    }
+
+    @Test
+    void createTransaction_concurrentRequestWithSameKey_shouldReplayWinner() {
+        final TransactionResponseDto winner = new TransactionResponseDto(TRANSACTION_ID, AMOUNT,
+                CURRENCY, TransactionType.DEPOSIT, REFERENCE, USER_ID, NOW);
+        when(idempotencyStore.find(USER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.empty(),
+                Optional.of(new IdempotencyStore.StoredResult(ACCOUNT_NUMBER, winner)));
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(buildOwnedBankAccount()));
+        doThrow(new DataIntegrityViolationException("duplicate", new RuntimeException(
+                "Unique index or primary key violation")))
+                .when(idempotencyStore)
+                .record(eq(USER_ID), eq(IDEMPOTENCY_KEY), any());
+
+        final TransactionResponseDto actual = testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransactionRequestDto(AMOUNT, CURRENCY, TransactionType.DEPOSIT,
+                        REFERENCE), IDEMPOTENCY_KEY);
+
+        assertEquals(winner, actual);
+    }
+
+    @Test
+    void createTransaction_optimisticMode_shouldApplyVersionedDelta() {
+        final BankAccount bankAccount = buildOptimisticBankAccount();
+
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+        when(bankAccountRepository.applyBalanceDeltaIfVersionMatches(eq(ACCOUNT_NUMBER),
+                eq(AMOUNT.negate()), eq(3L), any())).thenReturn(1);
+
+        final TransactionResponseDto actual = testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransactionRequestDto(AMOUNT, CURRENCY, TransactionType.WITHDRAWAL,
+                        REFERENCE));
+
+        assertEquals(AMOUNT, actual.amount());
+        assertEquals(TransactionType.WITHDRAWAL, actual.type());
+        verify(transactionRepository).save(any());
+        verify(bankAccountRepository, times(0)).save(any());
+        verifyNoInteractions(accountLockManager);
+    }
+
+    @Test
+    void createTransaction_optimisticModeWithConflict_shouldRetry() {
+        final BankAccount bankAccount = buildOptimisticBankAccount();
+
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+        when(bankAccountRepository.applyBalanceDeltaIfVersionMatches(eq(ACCOUNT_NUMBER),
+                eq(AMOUNT), eq(3L), any())).thenReturn(0, 1);
+
+        testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransactionRequestDto(AMOUNT, CURRENCY, TransactionType.DEPOSIT,
+                        REFERENCE));
+
+        verify(bankAccountRepository, times(2)).findById(ACCOUNT_NUMBER);
+        verify(transactionRepository).save(any());
+    }
+
+    @Test
+    void createTransaction_optimisticModeConflictsExhausted_shouldThrowException() {
+        final BankAccount bankAccount = buildOptimisticBankAccount();
+
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+        when(bankAccountRepository.applyBalanceDeltaIfVersionMatches(eq(ACCOUNT_NUMBER),
+                eq(AMOUNT), eq(3L), any())).thenReturn(0);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> testObj.createTransaction(ACCOUNT_NUMBER, USER_ID,
+                        new CreateTransactionRequestDto(AMOUNT, CURRENCY,
+                                TransactionType.DEPOSIT, REFERENCE)));
+
+        verify(bankAccountRepository, times(3)).findById(ACCOUNT_NUMBER);
+        verify(transactionRepository, times(0)).save(any());
+    }
+
     @Test
     void createTransaction_accountNotFound_shouldThrowException() {
         final var message = "Account not found";
@@ -261,6 +544,178 @@ class TransactionServiceUTest {
         verify(bankAccountRepository, times(0)).save(any());
     }
 
+    @Test
+    void createTransactions_withMixedItems_shouldApplyValidAndRejectRest() {
+        final BankAccount bankAccount = new BankAccount();
+        bankAccount.setBalance(AMOUNT);
+        final User user = new User();
+        user.setId(USER_ID);
+        bankAccount.setUser(user);
+        bankAccount.setCurrency(CURRENCY);
+
+        when(bankAccountRepository.findLockedByAccountNumber(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+
+        final TransactionBatchResponseDto actual = testObj.createTransactions(ACCOUNT_NUMBER,
+                USER_ID, List.of(
+                        new CreateTransactionRequestDto(AMOUNT, CURRENCY,
+                                TransactionType.WITHDRAWAL, REFERENCE),
+                        new CreateTransactionRequestDto(AMOUNT, CURRENCY,
+                                TransactionType.WITHDRAWAL, REFERENCE),
+                        new CreateTransactionRequestDto(AMOUNT, "USD",
+                                TransactionType.DEPOSIT, REFERENCE),
+                        new CreateTransactionRequestDto(BigDecimal.TEN, CURRENCY,
+                                TransactionType.DEPOSIT, REFERENCE)));
+
+        assertEquals(2, actual.created());
+        assertEquals(2, actual.rejected());
+        assertEquals(TransactionBatchItemStatus.CREATED, actual.results()
+                .get(0)
+                .status());
+        assertEquals("Insufficient funds", actual.results()
+                .get(1)
+                .error());
+        assertEquals("Currency mismatch", actual.results()
+                .get(2)
+                .error());
+        assertEquals(TransactionBatchItemStatus.CREATED, actual.results()
+                .get(3)
+                .status());
+        assertEquals(BigDecimal.TEN, bankAccount.getBalance());
+        verify(transactionRepository).saveAll(any());
+        verify(ledgerService).record(eq("batch:" + actual.results()
+                .get(0)
+                .transaction()
+                .id()), any());
+    }
+
+    @Test
+    void createTransactions_accountNotFound_shouldThrowException() {
+        when(bankAccountRepository.findLockedByAccountNumber(ACCOUNT_NUMBER)).thenReturn(
+                Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> testObj.createTransactions(ACCOUNT_NUMBER, USER_ID, List.of(
+                        new CreateTransactionRequestDto(AMOUNT, CURRENCY,
+                                TransactionType.DEPOSIT, REFERENCE))));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void createTransactions_withADifferentUserId_shouldThrowException() {
+        final BankAccount bankAccount = new BankAccount();
+        bankAccount.setBalance(AMOUNT);
+        final User user = new User();
+        user.setId("3L");
+        bankAccount.setUser(user);
+        bankAccount.setCurrency(CURRENCY);
+
+        when(bankAccountRepository.findLockedByAccountNumber(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+
+        assertThrows(AccessDeniedException.class,
+                () -> testObj.createTransactions(ACCOUNT_NUMBER, USER_ID, List.of(
+                        new CreateTransactionRequestDto(AMOUNT, CURRENCY,
+                                TransactionType.DEPOSIT, REFERENCE))));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void transfer_withAllParams_shouldMoveFundsAndWriteBothLegs() {
+        final BankAccount source = buildOwnedBankAccount(ACCOUNT_NUMBER);
+        final BankAccount target = buildOwnedBankAccount(OTHER_ACCOUNT_NUMBER);
+        stubTransferAccounts(source, target);
+
+        final TransferResponseDto actual = testObj.transfer(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransferRequestDto(OTHER_ACCOUNT_NUMBER, AMOUNT, CURRENCY, REFERENCE));
+
+        assertEquals(0, source.getBalance()
+                .compareTo(BigDecimal.ZERO));
+        assertEquals(0, target.getBalance()
+                .compareTo(AMOUNT.add(AMOUNT)));
+        assertEquals(TransactionType.WITHDRAWAL, actual.debit()
+                .type());
+        assertEquals(TransactionType.DEPOSIT, actual.credit()
+                .type());
+        verify(transactionRepository).saveAll(any());
+        verify(ledgerService).record(eq("transfer:" + actual.debit()
+                .id()), any());
+    }
+
+    @Test
+    void transfer_eitherDirection_shouldLockAccountsInAccountNumberOrder() {
+        final BankAccount low = buildOwnedBankAccount(ACCOUNT_NUMBER);
+        final BankAccount high = buildOwnedBankAccount(OTHER_ACCOUNT_NUMBER);
+        stubTransferAccounts(low, high);
+
+        testObj.transfer(OTHER_ACCOUNT_NUMBER, USER_ID,
+                new CreateTransferRequestDto(ACCOUNT_NUMBER, AMOUNT, CURRENCY, REFERENCE));
+        testObj.transfer(ACCOUNT_NUMBER, USER_ID,
+                new CreateTransferRequestDto(OTHER_ACCOUNT_NUMBER, AMOUNT, CURRENCY, REFERENCE));
+
+        final InOrder inOrder = inOrder(bankAccountRepository);
+        for (int i = 0; i < 2; i++) {
+            inOrder.verify(bankAccountRepository)
+                    .findLockedByAccountNumber(ACCOUNT_NUMBER);
+            inOrder.verify(bankAccountRepository)
+                    .findLockedByAccountNumber(OTHER_ACCOUNT_NUMBER);
+        }
+    }
+
+    @Test
+    void transfer_insufficientFunds_shouldThrowException() {
+        stubTransferAccounts(buildOwnedBankAccount(ACCOUNT_NUMBER),
+                buildOwnedBankAccount(OTHER_ACCOUNT_NUMBER));
+
+        assertThrows(UnprocessableEntityException.class,
+                () -> testObj.transfer(ACCOUNT_NUMBER, USER_ID,
+                        new CreateTransferRequestDto(OTHER_ACCOUNT_NUMBER, BigDecimal.TEN,
+                                CURRENCY, REFERENCE)));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void transfer_toSameAccount_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> testObj.transfer(ACCOUNT_NUMBER, USER_ID,
+                        new CreateTransferRequestDto(ACCOUNT_NUMBER, AMOUNT, CURRENCY,
+                                REFERENCE)));
+
+        verifyNoInteractions(bankAccountRepository, transactionRepository);
+    }
+
+    @Test
+    void transfer_toAnotherUsersAccount_shouldThrowException() {
+        final BankAccount target = buildOwnedBankAccount(OTHER_ACCOUNT_NUMBER);
+        final User owner = new User();
+        owner.setId("another-user");
+        target.setUser(owner);
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(buildOwnedBankAccount(ACCOUNT_NUMBER)));
+        when(bankAccountRepository.findById(OTHER_ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(target));
+
+        assertThrows(AccessDeniedException.class,
+                () -> testObj.transfer(ACCOUNT_NUMBER, USER_ID,
+                        new CreateTransferRequestDto(OTHER_ACCOUNT_NUMBER, AMOUNT, CURRENCY,
+                                REFERENCE)));
+
+        verify(bankAccountRepository, times(0)).findLockedByAccountNumber(any());
+    }
+
+    private void stubTransferAccounts(final BankAccount low, final BankAccount high) {
+        when(bankAccountRepository.findById(low.getAccountNumber())).thenReturn(Optional.of(low));
+        when(bankAccountRepository.findById(high.getAccountNumber())).thenReturn(
+                Optional.of(high));
+        when(bankAccountRepository.findLockedByAccountNumber(low.getAccountNumber())).thenReturn(
+                Optional.of(low));
+        when(bankAccountRepository.findLockedByAccountNumber(high.getAccountNumber())).thenReturn(
+                Optional.of(high));
+    }
+
     @Test
     void getTransactions_accountNumber_shouldReturnList() {
         final BankAccount bankAccount = new BankAccount();
@@ -271,12 +726,13 @@ class TransactionServiceUTest {
 
         when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
                 Optional.of(bankAccount));
-        when(transactionRepository.findAllByBankAccount_AccountNumber(ACCOUNT_NUMBER)).thenReturn(
+        when(transactionRepository.findFirstPage(ACCOUNT_NUMBER, Limit.of(51))).thenReturn(
                 List.of(new Transaction(AMOUNT, CURRENCY, TransactionType.DEPOSIT, REFERENCE,
                         NOW)));
 
         final List<TransactionResponseDto> actual = testObj.getTransactions(ACCOUNT_NUMBER,
-                USER_ID);
+                        USER_ID, null, null)
+                .transactions();
 
         assertNotNull(actual);
         assertFalse(actual.isEmpty());
@@ -290,6 +746,71 @@ class TransactionServiceUTest {
                 .reference());
     }
 
+    @Test
+    void getTransactions_repeatedReads_shouldCheckOwnershipFromCache() {
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(buildOwnedBankAccount()));
+        when(transactionRepository.findFirstPage(ACCOUNT_NUMBER, Limit.of(51))).thenReturn(
+                List.of());
+
+        testObj.getTransactions(ACCOUNT_NUMBER, USER_ID, null, null);
+        testObj.getTransactions(ACCOUNT_NUMBER, USER_ID, null, null);
+
+        verify(bankAccountRepository).findById(ACCOUNT_NUMBER);
+        assertThrows(AccessDeniedException.class,
+                () -> testObj.getTransactions(ACCOUNT_NUMBER, "another-user", null, null));
+    }
+
+    @Test
+    void getTransactions_moreRowsThanLimit_shouldReturnNextCursor() {
+        final BankAccount bankAccount = new BankAccount();
+        final User user = new User();
+        user.setId(USER_ID);
+        bankAccount.setUser(user);
+        final Transaction first = new Transaction(AMOUNT, CURRENCY, TransactionType.DEPOSIT,
+                REFERENCE, NOW);
+        first.setId("tan-1");
+        final Transaction second = new Transaction(AMOUNT, CURRENCY, TransactionType.DEPOSIT,
+                REFERENCE, NOW);
+        second.setId("tan-2");
+
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+        when(transactionRepository.findFirstPage(ACCOUNT_NUMBER, Limit.of(2))).thenReturn(
+                List.of(first, second));
+
+        final TransactionPageResponseDto actual = testObj.getTransactions(ACCOUNT_NUMBER,
+                USER_ID, null, 1);
+
+        assertEquals(1, actual.transactions()
+                .size());
+        assertEquals("tan-1", actual.transactions()
+                .get(0)
+                .id());
+        assertEquals(TransactionCursor.after(first), TransactionCursor.decode(actual.nextCursor()));
+    }
+
+    @Test
+    void getTransactions_withCursor_shouldReadPageAfterCursor() {
+        final BankAccount bankAccount = new BankAccount();
+        final User user = new User();
+        user.setId(USER_ID);
+        bankAccount.setUser(user);
+        final TransactionCursor cursor = new TransactionCursor(NOW, "tan-1");
+
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+        when(transactionRepository.findPageAfter(eq(ACCOUNT_NUMBER), any(), eq("tan-1"),
+                eq(Limit.of(201)))).thenReturn(List.of());
+
+        final TransactionPageResponseDto actual = testObj.getTransactions(ACCOUNT_NUMBER,
+                USER_ID, cursor.encode(), 10_000);
+
+        assertTrue(actual.transactions()
+                .isEmpty());
+        assertNull(actual.nextCursor());
+    }
+
     @Test
     void getTransactions_accountNotFound_shouldThrowException() {
         final var message = "Account not found";
@@ -299,7 +820,7 @@ class TransactionServiceUTest {
 
         final var actual = assertThrows(EntityNotFoundException.class,
                 () -> testObj.getTransactions(ACCOUNT_NUMBER,
-                        USER_ID));
+                        USER_ID, null, null));
 
         assertTrue(actual.getMessage()
                 .contains(message));
@@ -321,7 +842,7 @@ class TransactionServiceUTest {
                 Optional.of(bankAccount));
 
         final var actual = assertThrows(AccessDeniedException.class,
-                () -> testObj.getTransactions(ACCOUNT_NUMBER, "3L"),
+                () -> testObj.getTransactions(ACCOUNT_NUMBER, "3L", null, null),
                 message);
 
         assertTrue(actual.getMessage()
@@ -343,16 +864,44 @@ class TransactionServiceUTest {
         when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
                 Optional.of(bankAccount));
         doThrow(new RuntimeException(message)).when(transactionRepository)
-                .findAllByBankAccount_AccountNumber(ACCOUNT_NUMBER);
+                .findFirstPage(eq(ACCOUNT_NUMBER), any());
 
         final var actual = assertThrows(RuntimeException.class,
-                () -> testObj.getTransactions(ACCOUNT_NUMBER, USER_ID), message);
+                () -> testObj.getTransactions(ACCOUNT_NUMBER, USER_ID, null, null), message);
 
         assertTrue(actual.getMessage()
                 .contains(message));
 
         verify(bankAccountRepository).findById(ACCOUNT_NUMBER);
-        verify(transactionRepository).findAllByBankAccount_AccountNumber(ACCOUNT_NUMBER);
+        verify(transactionRepository).findFirstPage(eq(ACCOUNT_NUMBER), any());
+    }
+
+    @Test
+    void verifyAccountOwner_withADifferentUserId_shouldThrowException() {
+        final BankAccount bankAccount = new BankAccount();
+        final User user = new User();
+        user.setId(USER_ID);
+        bankAccount.setUser(user);
+
+        when(bankAccountRepository.findById(ACCOUNT_NUMBER)).thenReturn(
+                Optional.of(bankAccount));
+
+        assertThrows(AccessDeniedException.class,
+                () -> testObj.verifyAccountOwner(ACCOUNT_NUMBER, "3L"));
+    }
+
+    @Test
+    void streamTransactions_accountNumber_shouldPassEveryRowToConsumer() {
+        final TransactionResponseDto dto = new TransactionResponseDto(TRANSACTION_ID, AMOUNT,
+                CURRENCY, TransactionType.DEPOSIT, REFERENCE, USER_ID, NOW);
+        final List<TransactionResponseDto> actual = new ArrayList<>();
+
+        when(transactionRepository.streamAllByAccountNumber(ACCOUNT_NUMBER)).thenReturn(
+                Stream.of(dto, dto));
+
+        testObj.streamTransactions(ACCOUNT_NUMBER, actual::add);
+
+        assertEquals(List.of(dto, dto), actual);
     }
 
     @Test
@@ -475,4 +1024,35 @@ class TransactionServiceUTest {
         verify(bankAccountRepository).findById(ACCOUNT_NUMBER);
         verify(transactionRepository).findById(TRANSACTION_ID);
     }
-}
\ No newline at end of file
+
+    private static BankAccount buildOwnedBankAccount(final String accountNumber) {
+        final BankAccount bankAccount = buildOwnedBankAccount();
+        bankAccount.setAccountNumber(accountNumber);
+        return bankAccount;
+    }
+
+    private static BankAccount buildOwnedBankAccount() {
+        final BankAccount bankAccount = new BankAccount();
+        bankAccount.setBalance(AMOUNT);
+        final User user = new User();
+        user.setId(USER_ID);
+        bankAccount.setUser(user);
+        bankAccount.setCurrency(CURRENCY);
+        return bankAccount;
+    }
+
+    private BankAccount buildOptimisticBankAccount() {
+        ReflectionTestUtils.setField(testObj, "postingMode", PostingMode.OPTIMISTIC);
+        ReflectionTestUtils.setField(testObj, "optimisticMaxAttempts", 3);
+        ReflectionTestUtils.setField(testObj, "optimisticBackoffMillis", 0L);
+
+        final BankAccount bankAccount = new BankAccount();
+        bankAccount.setBalance(AMOUNT);
+        bankAccount.setVersion(3L);
+        final User user = new User();
+        user.setId(USER_ID);
+        bankAccount.setUser(user);
+        bankAccount.setCurrency(CURRENCY);
+        return bankAccount;
+    }
+}
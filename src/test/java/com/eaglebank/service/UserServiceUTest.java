@@ -22,15 +22,20 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.eaglebank.dto.CreateUserRequestDto;
 import com.eaglebank.dto.UpdateUserRequestDto;
 import com.eaglebank.dto.UserResponseDto;
+import com.eaglebank.exception.TooManyRequestsException;
 import com.eaglebank.mapper.UserMapper;
 import com.eaglebank.model.User;
 import com.eaglebank.repository.UserRepository;
+import com.eaglebank.security.PasswordHashingService;
+import com.eaglebank.security.PrincipalCache;
 import jakarta.persistence.EntityNotFoundException;
+import java.sql.SQLException;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,7 +44,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceUTest {
@@ -47,15 +52,16 @@ class UserServiceUTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+    @Mock
+    private PrincipalCache principalCache;
     @InjectMocks
     private UserService testObj;
 
 
     @Test
     void createUser_allCorrectParams_shouldReturnUserCreated() {
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
+        when(passwordHashingService.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
         when(userRepository.save(any(User.class))).thenReturn(buildUserWithId());
 
         final UserResponseDto actual = testObj.createUser(buildUserRequestDto());
@@ -70,7 +76,10 @@ class UserServiceUTest {
 
     @Test
     void createUser_existingEmail_shouldThrowException() {
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(buildUser()));
+        when(passwordHashingService.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL\"")));
 
         final IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -82,10 +91,23 @@ class UserServiceUTest {
                 .contains("Email is already in use"));
     }
 
+    @Test
+    void createUser_otherConstraintViolated_shouldRethrow() {
+        when(passwordHashingService.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
+        final DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("NULL not allowed for column"));
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+
+        final DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
+                () -> testObj.createUser(buildUserRequestDto()));
+
+        assertEquals(violation, exception);
+    }
+
     @Test
     void createUser_somethingGoesWrongWhenSaving_shouldThrowException() {
-        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
+        when(passwordHashingService.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
         final String message = "Something went wrong";
         doThrow(new RuntimeException(message)).when(userRepository)
                 .save(any(User.class));
@@ -113,8 +135,7 @@ class UserServiceUTest {
             mapperMock.when(() -> UserMapper.toDto(any(User.class)))
                     .thenReturn(userResponseDto);
 
-            when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
-            when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
+                when(passwordHashingService.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
 
             final ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
             when(userRepository.save(userCaptor.capture())).thenReturn(userEntity);
@@ -182,7 +203,7 @@ class UserServiceUTest {
         expected.setId(ID);
 
         when(userRepository.findById(ID)).thenReturn(Optional.of(buildUserWithId()));
-        when(passwordEncoder.encode(password)).thenReturn(encodedPass);
+        when(passwordHashingService.encode(password)).thenReturn(encodedPass);
         when(userRepository.save(any(User.class))).thenReturn(expected);
 
         final UserResponseDto actual = testObj.updateUser(ID,
@@ -195,6 +216,7 @@ class UserServiceUTest {
         assertEquals(name, actual.name());
         assertEquals(ADDRESS_DTO, actual.address());
         assertEquals(PHONE_NUMBER, actual.phoneNumber());
+        verify(principalCache).invalidate(ID);
     }
 
     @Test
@@ -215,7 +237,7 @@ class UserServiceUTest {
     @Test
     void updateUser_somethingGoesWrongWhenSaving_shouldThrowException() {
         when(userRepository.findById(ID)).thenReturn(Optional.of(buildUserWithId()));
-        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
+        when(passwordHashingService.encode(PASSWORD)).thenReturn(ENCRYPTED_PASSWORD);
         final String message = "Something went wrong";
         doThrow(new RuntimeException(message)).when(userRepository)
                 .save(any(User.class));
@@ -230,6 +252,26 @@ class UserServiceUTest {
                 .contains(message));
     }
 
+    @Test
+    void upgradePasswordHash_shouldReplaceHashIfUnchanged() {
+        final String upgradedHash = "{bcrypt}upgraded-password123";
+        when(passwordHashingService.encode(PASSWORD)).thenReturn(upgradedHash);
+
+        testObj.upgradePasswordHash(ID, PASSWORD, ENCRYPTED_PASSWORD);
+
+        verify(userRepository).updatePasswordIfUnchanged(ID, ENCRYPTED_PASSWORD, upgradedHash);
+    }
+
+    @Test
+    void upgradePasswordHash_hashingSaturated_shouldSkipUpgrade() {
+        when(passwordHashingService.encode(PASSWORD)).thenThrow(
+                new TooManyRequestsException("busy"));
+
+        testObj.upgradePasswordHash(ID, PASSWORD, ENCRYPTED_PASSWORD);
+
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void deleteUser_withCorrectId_shouldDelete() {
         final User user = buildUserWithId();
@@ -241,6 +283,7 @@ class UserServiceUTest {
         testObj.deleteUser(ID);
 
         verify(userRepository).delete(user);
+        verify(principalCache).invalidate(ID);
     }
 
     @Test
@@ -0,0 +1,53 @@
+package com.eaglebank.testutils;
+
+import static com.eaglebank.testutils.TestCommons.toJson;
+import static com.eaglebank.testutils.UserTestCommons.PASSWORD;
+import static com.eaglebank.testutils.UserTestCommons.buildUserRequestDto;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.dto.AccountType;
+import com.eaglebank.dto.AuthRequestDto;
+import com.eaglebank.dto.AuthResponseDto;
+import com.eaglebank.dto.BankAccountResponseDto;
+import com.eaglebank.dto.CreateBankAccountRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+public class ApiTestCommons {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    public static String createNewAccountAndGetToken(final MockMvc mockMvc, final String user,
+            final String email) throws Exception {
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(buildUserRequestDto(user, email, PASSWORD))))
+                .andExpect(status().isCreated());
+
+        final var authTokenResponse = mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new AuthRequestDto(email, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return OBJECT_MAPPER.readValue(authTokenResponse.getResponse()
+                        .getContentAsString(), AuthResponseDto.class)
+                .token();
+    }
+
+    public static BankAccountResponseDto createBankAccount(final MockMvc mockMvc,
+            final String name, final String userToken) throws Exception {
+        final var response = mockMvc.perform(post("/v1/accounts")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new CreateBankAccountRequestDto(name,
+                                AccountType.PERSONAL))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return OBJECT_MAPPER.readValue(response.getResponse()
+                .getContentAsString(), BankAccountResponseDto.class);
+    }
+}
@@ -11,16 +11,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class BankAccountUtilsUTest {
 
-    @Test
-    void generateAccountNumber_shouldReturnFixedValue() {
-        final String actual = BankAccountUtils.generateAccountNumber();
-
-        assertNotNull(actual);
-        assertEquals(8, actual.length());
-        assertTrue(actual.startsWith("01"));
-        assertTrue(actual.matches("^01\\d{6}$"));
-    }
-
     @Test
     void generateSortCode_shouldReturnFixedValue() {
         String actual = BankAccountUtils.generateSortCode();